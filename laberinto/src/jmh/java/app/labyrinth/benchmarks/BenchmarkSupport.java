@@ -0,0 +1,83 @@
+package app.labyrinth.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.RouteStrategy;
+import app.labyrinth.model.RouteStrategyType;
+
+/**
+ * Class constituted by static methods shared by the benchmarks: the maps they run against and the
+ * strategies they compare. The benchmarks are run from the laberinto folder, where labyrinth.txt is
+ */
+final class BenchmarkSupport {
+
+  /**
+   * Seed of the generated mazes, so every run measures the same maps
+   */
+  private static final long SEED = 42;
+
+  /**
+   * Private constructor that makes impossible instantiate an object of the class
+   */
+  private BenchmarkSupport() {}
+
+  /**
+   * Gets the path of a map by its name: "labyrinth" for the map of the App, "testing-map" for the
+   * map of the tests, or "perfect-", "braided-" or "open-" followed by the size of a generated
+   * maze, which is written in a temporary file
+   * @param name Name of the map
+   * @return The path of the file of the map
+   *
+   * @throws IOException In case the generated maze can't be written
+   */
+  static Path getMapPath(String name) throws IOException {
+    if (name.equals("labyrinth")) {
+      return Path.of("labyrinth.txt");
+    }
+    if (name.equals("testing-map")) {
+      return Path.of("src", "test", "resources", "mapsfolder", "testing-map.txt");
+    }
+
+    // Generated maze: kind and size
+    int separator = name.lastIndexOf('-');
+    MazeType type = switch (name.substring(0, separator)) {
+      case "perfect" -> MazeType.PERFECT;
+      case "braided" -> MazeType.BRAIDED;
+      case "open" -> MazeType.OPEN_ROOMS;
+      default -> throw new IllegalArgumentException(name);
+    };
+    int size = Integer.parseInt(name.substring(separator + 1));
+
+    Path mapPath = Files.createTempFile(name, ".txt");
+    mapPath.toFile().deleteOnExit();
+    new MazeGenerator(type, SEED).writeMaze(mapPath, size, size);
+    return mapPath;
+  }
+
+  /**
+   * Creates a strategy by its name
+   * @param name Name of the strategy
+   * @return A new instance of the strategy
+   */
+  static RouteStrategy createStrategy(String name) {
+    return RouteStrategyType.fromName(name).create();
+  }
+
+  /**
+   * Silences the status messages the game prints in the standard output, so they are not
+   * measured with the code of the benchmark
+   * @return The original standard output, to restore it after the benchmark
+   */
+  static PrintStream silenceStandardOutput() {
+    PrintStream standardOutput = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    return standardOutput;
+  }
+
+}
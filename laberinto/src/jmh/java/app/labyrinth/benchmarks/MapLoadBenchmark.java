@@ -0,0 +1,77 @@
+package app.labyrinth.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.labyrinth.model.LabyrinthMap;
+
+/**
+ * Benchmark of the creation of a map from files of increasing size
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapLoadBenchmark {
+
+  /**
+   * Name of the map to load
+   */
+  @Param({"testing-map", "labyrinth", "braided-101", "open-401", "perfect-1601", "braided-1601"})
+  private String mapName;
+
+  /**
+   * Path of the file of the map
+   */
+  private Path mapPath;
+
+  /**
+   * Standard output silenced during the benchmark
+   */
+  private PrintStream standardOutput;
+
+  /**
+   * Gets the path of the map and silences the messages of the map
+   * @throws IOException In case the map can't be generated
+   */
+  @Setup
+  public void setUp() throws IOException {
+    mapPath = BenchmarkSupport.getMapPath(mapName);
+    standardOutput = BenchmarkSupport.silenceStandardOutput();
+  }
+
+  /**
+   * Restores the standard output
+   */
+  @TearDown
+  public void tearDown() {
+    System.setOut(standardOutput);
+  }
+
+  /**
+   * Reads the file and creates the map
+   * @return The map created
+   */
+  @Benchmark
+  public LabyrinthMap loadMap() {
+    return new LabyrinthMap(mapPath);
+  }
+
+}
@@ -0,0 +1,91 @@
+package app.labyrinth.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Game;
+import app.labyrinth.model.LabyrinthFileManager;
+
+/**
+ * Benchmark of drawing the route over the lines of the map, as the App does before saving the
+ * solved map
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapOverlayBenchmark {
+
+  /**
+   * Name of the map of the route
+   */
+  @Param({"testing-map", "labyrinth", "braided-101", "open-401", "perfect-1601", "braided-1601"})
+  private String mapName;
+
+  /**
+   * Lines of the original map
+   */
+  private List<String> mapLines;
+
+  /**
+   * Route drawn over the map
+   */
+  private List<Coordinate> route;
+
+  /**
+   * Standard output silenced during the benchmark
+   */
+  private PrintStream standardOutput;
+
+  /**
+   * Reads the lines of the map and calculates the route with the default strategy
+   * @throws IOException In case the map can't be read or generated
+   */
+  @Setup
+  public void setUp() throws IOException {
+    standardOutput = BenchmarkSupport.silenceStandardOutput();
+    Path mapPath = BenchmarkSupport.getMapPath(mapName);
+    mapLines = LabyrinthFileManager.readMapLines(mapPath);
+
+    Game game = new Game(mapPath);
+    game.calculateRoute();
+    route = game.getRoute();
+  }
+
+  /**
+   * Restores the standard output
+   */
+  @TearDown
+  public void tearDown() {
+    System.setOut(standardOutput);
+  }
+
+  /**
+   * Draws the route over the lines of the map
+   * @return The lines of the solved map
+   */
+  @Benchmark
+  public List<String> getSolvedMapLines() {
+    return LabyrinthFileManager.getSolvedMapLines(mapLines, route);
+  }
+
+}
@@ -0,0 +1,90 @@
+package app.labyrinth.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Game;
+
+/**
+ * Benchmark of the calculation of the route of a game with every strategy. The map is loaded once,
+ * so only the strategy is measured. The corridor graph and the distance field are built in the
+ * first calculation and cached in the map, so the next ones don't build them again: the
+ * {@link UncachedRouteCalculationBenchmark} measures the calculations that build them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteCalculationBenchmark {
+
+  /**
+   * Name of the map where the route is calculated
+   */
+  @Param({"labyrinth", "braided-101", "perfect-401", "open-401"})
+  private String mapName;
+
+  /**
+   * Name of the strategy to calculate the route
+   */
+  @Param({"greedy", "bfs", "bidirectional-bfs", "astar", "jps", "time-optimal",
+      "corridor-graph", "distance-field", "parallel-bfs"})
+  private String strategyName;
+
+  /**
+   * Game which calculates the route
+   */
+  private Game game;
+
+  /**
+   * Standard output silenced during the benchmark
+   */
+  private PrintStream standardOutput;
+
+  /**
+   * Creates the game with the map and the strategy
+   * @throws IOException In case the map can't be generated
+   */
+  @Setup
+  public void setUp() throws IOException {
+    standardOutput = BenchmarkSupport.silenceStandardOutput();
+    game = new Game(BenchmarkSupport.getMapPath(mapName),
+        BenchmarkSupport.createStrategy(strategyName));
+  }
+
+  /**
+   * Restores the standard output
+   */
+  @TearDown
+  public void tearDown() {
+    System.setOut(standardOutput);
+  }
+
+  /**
+   * Calculates the route from the player to the end
+   * @return The route calculated
+   */
+  @Benchmark
+  public List<Coordinate> calculateRoute() {
+    game.calculateRoute();
+    return game.getRoute();
+  }
+
+}
@@ -0,0 +1,78 @@
+package app.labyrinth.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.labyrinth.model.Game;
+
+/**
+ * Benchmark of the time spent calculation of a route. The route is calculated once with the
+ * greedy strategy, which gives the longest routes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteScoreBenchmark {
+
+  /**
+   * Name of the map of the route
+   */
+  @Param({"testing-map", "labyrinth", "braided-101", "open-401", "perfect-1601", "braided-1601"})
+  private String mapName;
+
+  /**
+   * Game with the route calculated
+   */
+  private Game game;
+
+  /**
+   * Standard output silenced during the benchmark
+   */
+  private PrintStream standardOutput;
+
+  /**
+   * Creates the game and calculates its route
+   * @throws IOException In case the map can't be generated
+   */
+  @Setup
+  public void setUp() throws IOException {
+    standardOutput = BenchmarkSupport.silenceStandardOutput();
+    game = new Game(BenchmarkSupport.getMapPath(mapName));
+    game.calculateRoute();
+  }
+
+  /**
+   * Restores the standard output
+   */
+  @TearDown
+  public void tearDown() {
+    System.setOut(standardOutput);
+  }
+
+  /**
+   * Calculates the time spent following the route
+   * @return The time spent by the player
+   */
+  @Benchmark
+  public double getTotalTimeSpent() {
+    return game.getTotalTimeSpent();
+  }
+
+}
@@ -0,0 +1,103 @@
+package app.labyrinth.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Game;
+
+/**
+ * Benchmark of the first calculation of the route of a game with the strategies that cache a
+ * structure in the map (the corridor graph and the distance field). The game is created again
+ * before every calculation, so building the structure is measured too. The
+ * {@link RouteCalculationBenchmark} only measures the calculations with the structure cached
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UncachedRouteCalculationBenchmark {
+
+  /**
+   * Name of the map where the route is calculated
+   */
+  @Param({"labyrinth", "braided-101", "perfect-401", "open-401"})
+  private String mapName;
+
+  /**
+   * Name of the strategy to calculate the route
+   */
+  @Param({"corridor-graph", "distance-field"})
+  private String strategyName;
+
+  /**
+   * Path of the map
+   */
+  private Path mapPath;
+
+  /**
+   * Game which calculates the route, with nothing cached in its map
+   */
+  private Game game;
+
+  /**
+   * Standard output silenced during the benchmark
+   */
+  private PrintStream standardOutput;
+
+  /**
+   * Generates the map if it doesn't exist yet
+   * @throws IOException In case the map can't be generated
+   */
+  @Setup
+  public void setUp() throws IOException {
+    standardOutput = BenchmarkSupport.silenceStandardOutput();
+    mapPath = BenchmarkSupport.getMapPath(mapName);
+  }
+
+  /**
+   * Creates a new game with the map and the strategy, so nothing is cached in its map
+   */
+  @Setup(Level.Invocation)
+  public void createGame() {
+    game = new Game(mapPath, BenchmarkSupport.createStrategy(strategyName));
+  }
+
+  /**
+   * Restores the standard output
+   */
+  @TearDown
+  public void tearDown() {
+    System.setOut(standardOutput);
+  }
+
+  /**
+   * Calculates the route from the player to the end, building the structure of the strategy
+   * @return The route calculated
+   */
+  @Benchmark
+  public List<Coordinate> calculateRoute() {
+    game.calculateRoute();
+    return game.getRoute();
+  }
+
+}
@@ -0,0 +1,147 @@
+package app.labyrinth.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.utils.IntMinHeap;
+
+/**
+ * A* strategy. Every straight movement costs STRAIGHT_COST and every diagonal movement 
+ * DIAGONAL_COST (the octile distance), so the route found is the shortest one in the plane 
+ * when the heuristic is the octile one. With several ends, the heuristic estimates the distance
+ * to the nearest one and the search stops at the first end polled
+ */
+public class AStarStrategy implements RouteStrategy {
+
+  /**
+   * Cost of a horizontal or vertical movement
+   */
+  static final int STRAIGHT_COST = 10;
+  
+  /**
+   * Cost of a diagonal movement (approximation of the square root of 2 times STRAIGHT_COST)
+   */
+  static final int DIAGONAL_COST = 14;
+  
+  /**
+   * Heuristic used by the strategy to estimate the distance to the end
+   */
+  public enum Heuristic {
+    /**
+     * Octile distance. It never overestimates the distance, so the route found is the shortest
+     */
+    OCTILE,
+    /**
+     * Manhattan distance. It overestimates the distance when going diagonally, so the search 
+     * explores less squares but the route found could be a bit longer than the shortest one
+     */
+    MANHATTAN
+  }
+  
+  /**
+   * Heuristic of the strategy
+   */
+  private Heuristic heuristic;
+  
+  /**
+   * Constructor of the class which uses the octile heuristic
+   */
+  public AStarStrategy() {
+    this(Heuristic.OCTILE);
+  }
+  
+  /**
+   * Constructor of the class
+   * @param heuristic Heuristic used to estimate the distance to the end
+   */
+  public AStarStrategy(Heuristic heuristic) {
+    this.heuristic = heuristic;
+  }
+  
+  /**
+   * Gets the heuristic of the strategy
+   * @return The heuristic used to estimate the distance to the end
+   */
+  public Heuristic getHeuristic() {
+    return heuristic;
+  }
+  
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+    
+    long phaseStart = SolverStatistics.startPhase();
+    int start = map.getIndexOfElement(Element.PLAYER);
+    NearestEndEstimator estimator = new NearestEndEstimator(map, switch (heuristic) {
+    case OCTILE -> AStarStrategy::getOctileDistance;
+    case MANHATTAN -> (dx, dy) -> (dx + dy) * STRAIGHT_COST;
+    });
+    
+    MovementDirection[] directions = MovementDirection.values();
+    
+    // Best cost found to every cell and the cell from which it's reached
+    int[] costs = new int[map.getCellCount()];
+    int[] parents = new int[map.getCellCount()];
+    Arrays.fill(costs, Integer.MAX_VALUE);
+    costs[start] = 0;
+    
+    IntMinHeap openCells = new IntMinHeap(1024);
+    openCells.push(estimator.estimate(start), start);
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+    
+    try {
+      while (!openCells.isEmpty()) {
+        int priority = openCells.peekPriority();
+        int cell = openCells.poll();
+        
+        // Skips the cells already polled with a better cost
+        if (priority != costs[cell] + estimator.estimate(cell)) {
+          continue;
+        }
+        
+        if (map.isEnd(cell)) {
+          List<Coordinate> route = RouteUtils.getRouteFromParents(map, parents, start, cell);
+          statistics.updatePeakRouteLength(route.size());
+          return route;
+        }
+        
+        int passableMask = map.getPassableMask(cell);
+        statistics.addNodeExpanded();
+        statistics.addNeighbourChecks(Integer.bitCount(passableMask));
+        
+        for (int mask = passableMask; mask != 0; mask &= mask - 1) {
+          int i = Integer.numberOfTrailingZeros(mask);
+          int next = cell + map.getNeighbourOffset(i);
+          
+          boolean diagonal = directions[i].getXMovement() != 0 
+              && directions[i].getYMovement() != 0;
+          int nextCost = costs[cell] + (diagonal ? DIAGONAL_COST : STRAIGHT_COST);
+          
+          if (nextCost < costs[next]) {
+            costs[next] = nextCost;
+            parents[next] = cell;
+            openCells.push(nextCost + estimator.estimate(next), next);
+          }
+        }
+      }
+      
+      // There is no way to reach the end
+      throw new GameException();
+      
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+  
+  /**
+   * Gets the octile distance between two cells
+   * @param dx Horizontal distance between the cells
+   * @param dy Vertical distance between the cells
+   * @return The cost of going diagonally as much as possible and then straight
+   */
+  static int getOctileDistance(int dx, int dy) {
+    return DIAGONAL_COST * Math.min(dx, dy) + STRAIGHT_COST * Math.abs(dx - dy);
+  }
+  
+}
@@ -0,0 +1,174 @@
+package app.labyrinth.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Bidirectional breadth first strategy. It explores the labyrinth by levels from the player and
+ * from the end at the same time, always expanding the side with the smallest frontier, until both
+ * searches meet. The route found is the one with the least squares, as in the breadth first
+ * strategy, but exploring far less squares in open maps. With several ends, the search from the
+ * end starts from all of them at once, so the route goes to the nearest one
+ */
+public class BidirectionalBreadthFirstStrategy implements RouteStrategy {
+
+  /**
+   * Search done from one of the two sides of the route
+   */
+  private static class Side {
+
+    /**
+     * Number of squares from the origin of the side to every cell. -1 if it has not been reached
+     */
+    private int[] depths;
+
+    /**
+     * Cell from which every cell is reached
+     */
+    private int[] parents;
+
+    /**
+     * Queue of cells to expand. Every cell is queued at most once
+     */
+    private int[] queue;
+
+    /**
+     * Position of the next cell to expand in the queue
+     */
+    private int head;
+
+    /**
+     * Position after the last cell queued
+     */
+    private int tail;
+
+    /**
+     * Constructor of the class
+     * @param cellCount Number of cells of the map
+     * @param origins Indexes of the cells where the search of this side starts. Every origin is
+     * its own parent
+     */
+    private Side(int cellCount, int... origins) {
+      depths = new int[cellCount];
+      parents = new int[cellCount];
+      queue = new int[cellCount];
+      Arrays.fill(depths, -1);
+
+      for (int origin : origins) {
+        depths[origin] = 0;
+        parents[origin] = origin;
+        queue[tail++] = origin;
+      }
+    }
+
+    /**
+     * Gets the number of cells waiting to be expanded
+     * @return The size of the frontier
+     */
+    private int getFrontierSize() {
+      return tail - head;
+    }
+  }
+
+
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+
+    long phaseStart = SolverStatistics.startPhase();
+    int start = map.getIndexOfElement(Element.PLAYER);
+    // The backward search starts from all the ends
+    map.requireElement(Element.END);
+
+    Side forward = new Side(map.getCellCount(), start);
+    Side backward = new Side(map.getCellCount(), map.getIndexesOfElement(Element.END));
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    try {
+      while (forward.getFrontierSize() > 0 && backward.getFrontierSize() > 0) {
+
+        // Expands a complete level of the smallest frontier
+        boolean forwardTurn = forward.getFrontierSize() <= backward.getFrontierSize();
+        Side side = forwardTurn ? forward : backward;
+        Side other = forwardTurn ? backward : forward;
+
+        // Best meeting found in this level: the cell of the side and the cell of the other side
+        int bestLength = Integer.MAX_VALUE;
+        int sideMeeting = -1;
+        int otherMeeting = -1;
+
+        int levelEnd = side.tail;
+        while (side.head < levelEnd) {
+          int cell = side.queue[side.head++];
+          int passableMask = map.getPassableMask(cell);
+          statistics.addNodeExpanded();
+          statistics.addNeighbourChecks(Integer.bitCount(passableMask));
+
+          for (int mask = passableMask; mask != 0; mask &= mask - 1) {
+            int next = cell + map.getNeighbourOffset(Integer.numberOfTrailingZeros(mask));
+
+            // The searches meet. The whole level is checked to keep the shortest meeting
+            if (other.depths[next] != -1) {
+              int length = side.depths[cell] + 1 + other.depths[next];
+              if (length < bestLength) {
+                bestLength = length;
+                sideMeeting = cell;
+                otherMeeting = next;
+              }
+            }
+
+            if (side.depths[next] == -1) {
+              side.depths[next] = side.depths[cell] + 1;
+              side.parents[next] = cell;
+              side.queue[side.tail++] = next;
+            }
+          }
+        }
+
+        if (sideMeeting != -1) {
+          List<Coordinate> route = forwardTurn
+              ? getRoute(map, forward, backward, start, sideMeeting, otherMeeting)
+              : getRoute(map, forward, backward, start, otherMeeting, sideMeeting);
+          statistics.updatePeakRouteLength(route.size());
+          return route;
+        }
+      }
+
+      // There is no way to reach the end
+      throw new GameException();
+
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+
+  /**
+   * Builds the route joining the way from the player to the meeting and the way from the meeting
+   * to the end
+   * @param map Map of the labyrinth
+   * @param forward Search started from the player
+   * @param backward Search started from the ends
+   * @param start Index of the player's cell
+   * @param forwardMeeting Last cell of the route reached by the forward search
+   * @param backwardMeeting First cell of the route reached by the backward search
+   * @return The route from the player to the end
+   */
+  private List<Coordinate> getRoute(LabyrinthMap map, Side forward, Side backward, int start,
+      int forwardMeeting, int backwardMeeting) {
+
+    List<Coordinate> route = RouteUtils.getRouteFromParents(map, forward.parents, start,
+        forwardMeeting);
+
+    // The parents of the backward search point to the end where it started, its own parent
+    int cell = backwardMeeting;
+    for (; backward.parents[cell] != cell; cell = backward.parents[cell]) {
+      route.add(map.getCoordinateOfIndex(cell));
+    }
+    route.add(map.getCoordinateOfIndex(cell));
+
+    return route;
+  }
+
+}
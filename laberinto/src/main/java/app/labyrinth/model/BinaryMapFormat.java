@@ -0,0 +1,314 @@
+package app.labyrinth.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Binary format of the map files (.lbm). It's much smaller and faster to read than the ASCII
+ * format, because every cell only needs 2 bits and nothing has to be parsed. All the numbers are
+ * big endian:
+ *
+ * - Header: magic number ("LBM" and 0x1A), version, width, height, number of players followed by
+ *   the index of every player (y * width + x) and number of ends followed by the index of every end
+ * - Payload: 4 cells per byte, from the lowest bits to the highest ones. 0 is a void square, 1 an
+ *   obstacle, 2 a travelled square and 3 a player or an end, given by the indexes of the header
+ * - Checksum: CRC32 of all the bytes before it
+ *
+ * The obstacles are all the same in this format, so the ASCII map got back from it draws all of
+ * them with the first representation of the obstacle
+ */
+final class BinaryMapFormat {
+
+  /**
+   * Extension of the binary map files
+   */
+  static final String EXTENSION = ".lbm";
+
+  /**
+   * Magic number at the beginning of every binary map file: "LBM" and 0x1A
+   */
+  static final int MAGIC = 0x4C424D1A;
+
+  /**
+   * Version of the format written by this class. It's the only one that can be read
+   */
+  static final int VERSION = 1;
+
+  /**
+   * Size in bytes of the fixed fields of the header and the checksum: magic, version, width,
+   * height, number of players, number of ends and checksum
+   */
+  private static final int FIXED_SIZE = 7 * Integer.BYTES;
+
+  /**
+   * Number of cells packed in every byte of the payload
+   */
+  private static final int CELLS_PER_BYTE = 4;
+
+  /**
+   * Code of the players and the ends in the payload
+   */
+  private static final int POSITION_CODE = 3;
+
+  /**
+   * Code of every element in the payload, indexed by the element ordinal
+   */
+  private static final byte[] elementCodes = new byte[Element.values().length];
+
+  /**
+   * Ordinals of the 4 cells packed in every possible byte of the payload. The players and the ends
+   * are decoded as void squares until the indexes of the header are set
+   */
+  private static final byte[] byteOrdinals = new byte[256 * CELLS_PER_BYTE];
+
+  /**
+   * Number of cells with a player or an end in every possible byte of the payload
+   */
+  private static final byte[] byteSpecialCounts = new byte[256];
+
+  static {
+    for (Element element : Element.values()) {
+      elementCodes[element.ordinal()] = (byte) switch (element) {
+      case VOID -> 0;
+      case OBSTACLE -> 1;
+      case TRAVELLED -> 2;
+      case PLAYER, END -> POSITION_CODE;
+      };
+    }
+
+    Element[] codeElements = {Element.VOID, Element.OBSTACLE, Element.TRAVELLED, Element.VOID};
+    for (int value = 0; value < 256; value++) {
+      for (int i = 0; i < CELLS_PER_BYTE; i++) {
+        int code = (value >> (2 * i)) & 0b11;
+        byteOrdinals[value * CELLS_PER_BYTE + i] = (byte) codeElements[code].ordinal();
+        if (code == POSITION_CODE) {
+          byteSpecialCounts[value]++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Private constructor that makes impossible instantiate an object of the class
+   */
+  private BinaryMapFormat() {}
+
+  /**
+   * Checks if a map file is in the binary format, by its extension
+   * @param mapPath Path of the file
+   * @return True if the file name ends with .lbm
+   */
+  static boolean isBinaryMap(Path mapPath) {
+    Path fileName = mapPath.getFileName();
+    return fileName != null && fileName.toString().toLowerCase().endsWith(EXTENSION);
+  }
+
+  /**
+   * Reads a binary map file into packed cells. The file is memory mapped and decoded straight
+   * from the mapped bytes, without copying them
+   * @param mapPath Path of the file
+   * @return The packed map
+   *
+   * @throws IOException In case the file can't be read
+   * @throws MapException In case the file is not a binary map of this version, it's corrupted or
+   * it's too big to be indexed
+   */
+  static MapLoader.PackedMap read(Path mapPath) throws IOException {
+    try (FileChannel channel = FileChannel.open(mapPath, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new MapException();
+      }
+      return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Decodes the bytes of a binary map
+   * @param buffer Bytes of the file
+   * @return The packed map
+   *
+   * @throws MapException In case the bytes are not a binary map of this version or they are
+   * corrupted
+   */
+  static MapLoader.PackedMap decode(ByteBuffer buffer) {
+    int limit = buffer.limit();
+    if (limit < FIXED_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new MapException();
+    }
+
+    // The checksum is checked first, so the rest of the fields can be trusted
+    CRC32 checksum = new CRC32();
+    checksum.update(buffer.slice(0, limit - Integer.BYTES));
+    if ((int) checksum.getValue() != buffer.getInt(limit - Integer.BYTES)) {
+      throw new MapException();
+    }
+
+    int width = buffer.getInt(8);
+    int height = buffer.getInt(12);
+    long cellCount = (long) width * height;
+    if (width < 0 || height < 0 || cellCount > Integer.MAX_VALUE) {
+      throw new MapException();
+    }
+
+    // Positions of the players and the ends
+    int position = 16;
+    int[][] indexes = new int[2][];
+    for (int i = 0; i < indexes.length; i++) {
+      int count = buffer.getInt(position);
+      position += Integer.BYTES;
+      if (count < 0 || count > cellCount || position + (long) count * Integer.BYTES > limit) {
+        throw new MapException();
+      }
+      indexes[i] = new int[count];
+      for (int j = 0; j < count; j++, position += Integer.BYTES) {
+        indexes[i][j] = buffer.getInt(position);
+      }
+    }
+
+    int payloadSize = (int) ((cellCount + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE);
+    if ((long) position + payloadSize + Integer.BYTES != limit) {
+      throw new MapException();
+    }
+
+    // Every byte gives 4 cells at once
+    byte[] cells = new byte[(int) cellCount];
+    int specialCount = 0;
+    int fullBytes = cells.length / CELLS_PER_BYTE;
+    for (int i = 0; i < fullBytes; i++) {
+      int value = buffer.get(position + i) & 0xFF;
+      int cell = i * CELLS_PER_BYTE;
+      int ordinals = value * CELLS_PER_BYTE;
+      cells[cell] = byteOrdinals[ordinals];
+      cells[cell + 1] = byteOrdinals[ordinals + 1];
+      cells[cell + 2] = byteOrdinals[ordinals + 2];
+      cells[cell + 3] = byteOrdinals[ordinals + 3];
+      specialCount += byteSpecialCounts[value];
+    }
+    if (fullBytes < payloadSize) {
+      int value = buffer.get(position + fullBytes) & 0xFF;
+      for (int cell = fullBytes * CELLS_PER_BYTE; cell < cells.length; cell++) {
+        cells[cell] = byteOrdinals[value * CELLS_PER_BYTE + cell % CELLS_PER_BYTE];
+      }
+      specialCount += byteSpecialCounts[value];
+    }
+
+    // The cells with the code of the positions must be the ones of the header
+    if (specialCount != indexes[0].length + indexes[1].length) {
+      throw new MapException();
+    }
+    setPositions(cells, indexes[0], Element.PLAYER, buffer, position);
+    setPositions(cells, indexes[1], Element.END, buffer, position);
+
+    return new MapLoader.PackedMap(cells, width, height);
+  }
+
+  /**
+   * Writes a map in a binary map file. If the file already exists, it gets overwritten
+   * @param mapPath Path of the file to write
+   * @param cells Ordinals of the elements of the cells, indexed by y * width + x
+   * @param width Number of columns
+   * @param height Number of rows
+   *
+   * @throws IOException In case the file can't be written
+   */
+  static void write(Path mapPath, byte[] cells, int width, int height) throws IOException {
+    ByteBuffer buffer = encode(cells, width, height);
+    try (FileChannel channel = FileChannel.open(mapPath, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Encodes a map in the binary format
+   * @param cells Ordinals of the elements of the cells, indexed by y * width + x
+   * @param width Number of columns
+   * @param height Number of rows
+   * @return The bytes of the binary map, ready to be read
+   */
+  static ByteBuffer encode(byte[] cells, int width, int height) {
+    int playerCount = 0;
+    int endCount = 0;
+    for (byte ordinal : cells) {
+      if (ordinal == Element.PLAYER.ordinal()) {
+        playerCount++;
+      } else if (ordinal == Element.END.ordinal()) {
+        endCount++;
+      }
+    }
+
+    int payloadSize = (cells.length + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE;
+    ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + (playerCount + endCount) * Integer.BYTES
+        + payloadSize);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height);
+
+    buffer.putInt(playerCount);
+    putPositions(buffer, cells, Element.PLAYER);
+    buffer.putInt(endCount);
+    putPositions(buffer, cells, Element.END);
+
+    // 4 cells per byte, from the lowest bits to the highest ones
+    for (int first = 0; first < cells.length; first += CELLS_PER_BYTE) {
+      int value = 0;
+      for (int i = 0; i < CELLS_PER_BYTE && first + i < cells.length; i++) {
+        value |= elementCodes[cells[first + i]] << (2 * i);
+      }
+      buffer.put((byte) value);
+    }
+
+    CRC32 checksum = new CRC32();
+    checksum.update(buffer.array(), 0, buffer.position());
+    buffer.putInt((int) checksum.getValue());
+    return buffer.flip();
+  }
+
+  /**
+   * Writes the index of every cell with the given element
+   * @param buffer Buffer where the indexes are written
+   * @param cells Ordinals of the elements of the cells
+   * @param element Element searched
+   */
+  private static void putPositions(ByteBuffer buffer, byte[] cells, Element element) {
+    for (int cell = 0; cell < cells.length; cell++) {
+      if (cells[cell] == element.ordinal()) {
+        buffer.putInt(cell);
+      }
+    }
+  }
+
+  /**
+   * Sets the element of the cells given by the header, checking they have the code of the
+   * positions in the payload
+   * @param cells Decoded cells of the map
+   * @param indexes Indexes of the cells with the element
+   * @param element Element of the cells
+   * @param buffer Bytes of the file
+   * @param payloadStart Position of the payload in the file
+   *
+   * @throws MapException In case an index is out of the map or its cell doesn't have the code of
+   * the positions
+   */
+  private static void setPositions(byte[] cells, int[] indexes, Element element, ByteBuffer buffer,
+      int payloadStart) {
+
+    for (int index : indexes) {
+      if (index < 0 || index >= cells.length) {
+        throw new MapException();
+      }
+      int value = buffer.get(payloadStart + index / CELLS_PER_BYTE);
+      if (((value >> (2 * (index % CELLS_PER_BYTE))) & 0b11) != POSITION_CODE) {
+        throw new MapException();
+      }
+      cells[index] = (byte) element.ordinal();
+    }
+  }
+
+}
@@ -0,0 +1,351 @@
+package app.labyrinth.model;
+
+/**
+ * Map kept as a bitboard: one bit per cell, set if the player can pass over it, in words of 64
+ * cells of the same row. The breadth first search over the bitboard expands 64 cells at once with
+ * shifts, ANDs and ORs: the cells reached from a word of the frontier are the word shifted one
+ * bit to every side, in its row and in the rows above and below, which covers the eight
+ * directions of the player.
+ *
+ * Only the words with cells in the frontier are expanded, so the search costs the words of the
+ * frontier instead of its cells. It finds if an end can be reached and how far it is, but not the
+ * route, so it can be used to check a map before calculating its route. It's built once per map by
+ * {@link LabyrinthMap#getBitboard()}
+ */
+public class Bitboard {
+
+  /**
+   * Distance of the cells from which no end can be reached
+   */
+  public static final int UNREACHABLE = -1;
+
+  /**
+   * Number of columns of the map
+   */
+  private final int width;
+
+  /**
+   * Number of rows of the map
+   */
+  private final int height;
+
+  /**
+   * Number of words of every row
+   */
+  private final int rowWords;
+
+  /**
+   * Cells the player can pass over, one bit per cell. Bit x % 64 of word y * rowWords + x / 64.
+   * The shifts of a long only use the 6 lowest bits, so 1L << x is the bit of the column x
+   */
+  private final long[] passable;
+
+  /**
+   * Cells with an end, in the same bits as the passable cells
+   */
+  private final long[] ends;
+
+  /**
+   * Search over the bitboard, with the cells reached and the words of the frontier
+   */
+  private class Search {
+
+    /**
+     * Cells already reached
+     */
+    private final long[] visited = new long[passable.length];
+
+    /**
+     * Cells of the level being expanded
+     */
+    private final long[] frontier = new long[passable.length];
+
+    /**
+     * Cells of the next level
+     */
+    private final long[] next = new long[passable.length];
+
+    /**
+     * Words with cells in the frontier
+     */
+    private int[] active = new int[passable.length];
+
+    /**
+     * Words with cells in the next level
+     */
+    private int[] nextActive = new int[passable.length];
+
+    /**
+     * Number of words in the frontier
+     */
+    private int activeCount;
+
+    /**
+     * Number of words in the next level
+     */
+    private int nextActiveCount;
+
+    /**
+     * Constructor of the class. The search starts from one cell
+     * @param cell Index of the first cell (y * width + x)
+     */
+    private Search(int cell) {
+      int word = getWord(cell);
+      long bit = 1L << (cell % width);
+      visited[word] = bit;
+      frontier[word] = bit;
+      active[activeCount++] = word;
+    }
+
+    /**
+     * Expands the whole frontier one square to every direction, making the new cells reached the
+     * next frontier
+     * @return True if an end has been reached
+     */
+    private boolean expandLevel() {
+      nextActiveCount = 0;
+
+      for (int i = 0; i < activeCount; i++) {
+        int word = active[i];
+        long cells = frontier[word];
+        int row = word / rowWords;
+        int column = word - row * rowWords;
+
+        // The cells moved one square to the sides: inside the word, and the bits that go to the
+        // words beside it
+        long center = cells | (cells << 1) | (cells >>> 1);
+        long toRight = cells >>> (Long.SIZE - 1);
+        long toLeft = cells << (Long.SIZE - 1);
+
+        // The same cells are reached in the row of the word and in the rows above and below it
+        for (int y = Math.max(row - 1, 0); y <= Math.min(row + 1, height - 1); y++) {
+          int rowWord = y * rowWords + column;
+          reach(rowWord, center);
+          if (toRight != 0 && column + 1 < rowWords) {
+            reach(rowWord + 1, toRight);
+          }
+          if (toLeft != 0 && column > 0) {
+            reach(rowWord - 1, toLeft);
+          }
+        }
+      }
+
+      // The old frontier is cleared before the next level takes its place
+      for (int i = 0; i < activeCount; i++) {
+        frontier[active[i]] = 0;
+      }
+
+      boolean endReached = false;
+      for (int i = 0; i < nextActiveCount; i++) {
+        int word = nextActive[i];
+        long cells = next[word];
+        next[word] = 0;
+        visited[word] |= cells;
+        frontier[word] = cells;
+        endReached |= (cells & ends[word]) != 0;
+      }
+
+      int[] swap = active;
+      active = nextActive;
+      nextActive = swap;
+      activeCount = nextActiveCount;
+      return endReached;
+    }
+
+    /**
+     * Adds to the next level the cells of a word that can be passed over and are not reached yet
+     * @param word Index of the word
+     * @param cells Cells reached in the word
+     */
+    private void reach(int word, long cells) {
+      long newCells = cells & passable[word] & ~visited[word];
+      if (newCells != 0) {
+        if (next[word] == 0) {
+          nextActive[nextActiveCount++] = word;
+        }
+        next[word] |= newCells;
+      }
+    }
+  }
+
+
+  /**
+   * Constructor of the class. Packs the cells of the map in the bitboard
+   * @param map Map of the labyrinth
+   */
+  Bitboard(LabyrinthMap map) {
+    width = map.getWidth();
+    height = map.getHeight();
+    rowWords = (width + Long.SIZE - 1) / Long.SIZE;
+    passable = new long[height * rowWords];
+    ends = new long[height * rowWords];
+
+    byte[] cells = map.getCells();
+    int obstacle = Element.OBSTACLE.ordinal();
+    int end = Element.END.ordinal();
+    for (int y = 0; y < height; y++) {
+      int rowStart = y * width;
+      for (int x = 0; x < width; x++) {
+        int word = y * rowWords + x / Long.SIZE;
+        byte cell = cells[rowStart + x];
+        if (cell != obstacle) {
+          passable[word] |= 1L << x;
+        }
+        if (cell == end) {
+          ends[word] |= 1L << x;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of words of the bitboard
+   * @return The number of words of 64 cells, with the rows padded to whole words
+   */
+  public int getWordCount() {
+    return passable.length;
+  }
+
+  /**
+   * Checks if the player can pass over a cell
+   * @param cell Index of the cell (y * width + x)
+   * @return True if the cell is not an obstacle
+   */
+  public boolean isPassable(int cell) {
+    return (passable[getWord(cell)] & (1L << (cell % width))) != 0;
+  }
+
+  /**
+   * Gets the word of the bitboard with a cell
+   * @param cell Index of the cell (y * width + x)
+   * @return The index of the word
+   */
+  private int getWord(int cell) {
+    return (cell / width) * rowWords + (cell % width) / Long.SIZE;
+  }
+
+  /**
+   * Checks if an end of the map can be reached from a cell. The levels don't matter here, so the
+   * cells are filled word by word in any order: a whole run of passable cells of a row is filled at
+   * once, and only the words of the rows above and below that get new cells are filled later
+   * @param cell Index of the cell (y * width + x)
+   * @return True if there is a way from the cell to an end
+   */
+  public boolean isEndReachable(int cell) {
+    if (!isPassable(cell)) {
+      return false;
+    }
+
+    // Cells reached, and cells reached but not filled yet of every word waiting to be filled
+    long[] reached = new long[passable.length];
+    long[] pending = new long[passable.length];
+    int[] words = new int[passable.length];
+    int wordCount = 0;
+
+    int first = getWord(cell);
+    pending[first] = 1L << (cell % width);
+    words[wordCount++] = first;
+
+    while (wordCount > 0) {
+      int word = words[--wordCount];
+      long filled = fillRuns(passable[word], pending[word]);
+      pending[word] = 0;
+      reached[word] |= filled;
+      if ((filled & ends[word]) != 0) {
+        return true;
+      }
+
+      // The runs that touch the sides of the word go on in the words beside it
+      int row = word / rowWords;
+      int column = word - row * rowWords;
+      long toRight = filled >>> (Long.SIZE - 1);
+      long toLeft = filled << (Long.SIZE - 1);
+      long around = filled | (filled << 1) | (filled >>> 1);
+
+      for (int y = Math.max(row - 1, 0); y <= Math.min(row + 1, height - 1); y++) {
+        int rowWord = y * rowWords + column;
+        wordCount = addPending(rowWord, y == row ? 0 : around, reached, pending, words, wordCount);
+        if (column + 1 < rowWords) {
+          wordCount = addPending(rowWord + 1, toRight, reached, pending, words, wordCount);
+        }
+        if (column > 0) {
+          wordCount = addPending(rowWord - 1, toLeft, reached, pending, words, wordCount);
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds the cells of a word that can be passed over and are not reached yet to the cells waiting
+   * to be filled
+   * @param word Index of the word
+   * @param cells Cells reached in the word
+   * @param reached Cells already filled
+   * @param pending Cells waiting to be filled
+   * @param words Stack of the words with cells waiting to be filled
+   * @param wordCount Number of words in the stack
+   * @return The number of words in the stack after adding the word
+   */
+  private int addPending(int word, long cells, long[] reached, long[] pending, int[] words,
+      int wordCount) {
+    long newCells = cells & passable[word] & ~reached[word];
+    if (newCells != 0) {
+      if (pending[word] == 0) {
+        words[wordCount++] = word;
+      }
+      pending[word] |= newCells;
+    }
+    return wordCount;
+  }
+
+  /**
+   * Fills the runs of consecutive passable cells of a word that have a seed cell. The fill goes
+   * both ways doubling the length covered in every step (Kogge-Stone), so a run of 64 cells costs
+   * 6 steps per way
+   * @param passableCells Passable cells of the word
+   * @param seeds Cells from which the runs are filled
+   * @return The cells of the runs with a seed
+   */
+  private static long fillRuns(long passableCells, long seeds) {
+    long up = seeds & passableCells;
+    long down = up;
+    long upPropagator = passableCells;
+    long downPropagator = passableCells;
+
+    for (int shift = 1; shift < Long.SIZE; shift <<= 1) {
+      up |= upPropagator & (up << shift);
+      down |= downPropagator & (down >>> shift);
+      upPropagator &= upPropagator << shift;
+      downPropagator &= downPropagator >>> shift;
+    }
+    return up | down;
+  }
+
+  /**
+   * Gets the number of squares from a cell to the nearest end, expanding the cells reached from
+   * the cell level by level until an end is reached
+   * @param cell Index of the cell (y * width + x)
+   * @return The number of movements to reach the nearest end, as the length of the breadth first
+   * route minus 1, or UNREACHABLE if no end can be reached from the cell (or it's an obstacle)
+   */
+  public int getDistanceToEnd(int cell) {
+    if (!isPassable(cell)) {
+      return UNREACHABLE;
+    }
+
+    if ((ends[getWord(cell)] & (1L << (cell % width))) != 0) {
+      return 0;
+    }
+
+    Search search = new Search(cell);
+
+    for (int distance = 1; search.activeCount > 0; distance++) {
+      if (search.expandLevel()) {
+        return distance;
+      }
+    }
+    return UNREACHABLE;
+  }
+
+}
@@ -0,0 +1,69 @@
+package app.labyrinth.model;
+
+import java.util.BitSet;
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Breadth first strategy. It explores the labyrinth by levels from the player, so the route found
+ * is the one with the least squares to the end. With several ends, it stops at the first one
+ * reached, which is the nearest
+ */
+public class BreadthFirstStrategy implements RouteStrategy {
+
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+    
+    long phaseStart = SolverStatistics.startPhase();
+    int start = map.getIndexOfElement(Element.PLAYER);
+    // Any of the ends finishes the search
+    map.requireElement(Element.END);
+    
+    // Cells already reached, one bit per cell, and the cell from which every cell is reached
+    BitSet visited = new BitSet(map.getCellCount());
+    int[] parents = new int[map.getCellCount()];
+    visited.set(start);
+    
+    // Every cell is queued at most once, so the queue can't be bigger than the map
+    int[] queue = new int[map.getCellCount()];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = start;
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+    
+    try {
+      while (head < tail) {
+        int cell = queue[head++];
+        int passableMask = map.getPassableMask(cell);
+        statistics.addNodeExpanded();
+        statistics.addNeighbourChecks(Integer.bitCount(passableMask));
+        
+        // Every set bit of the mask is a direction without obstacle
+        for (int mask = passableMask; mask != 0; mask &= mask - 1) {
+          int next = cell + map.getNeighbourOffset(Integer.numberOfTrailingZeros(mask));
+          if (visited.get(next)) {
+            continue;
+          }
+          
+          visited.set(next);
+          parents[next] = cell;
+          if (map.isEnd(next)) {
+            List<Coordinate> route = RouteUtils.getRouteFromParents(map, parents, start, next);
+            statistics.updatePeakRouteLength(route.size());
+            return route;
+          }
+          queue[tail++] = next;
+        }
+      }
+      
+      // There is no way to reach the end
+      throw new GameException();
+      
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+  
+}
@@ -0,0 +1,411 @@
+package app.labyrinth.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Graph of a map where every corridor is collapsed into an edge. The nodes are the cells where the
+ * player can choose between more than one way (intersections), the dead ends, the player and the
+ * end. Every other passable cell has exactly two neighbours, so it's part of a corridor between two
+ * nodes.
+ *
+ * Every corridor gives an edge in each direction, with the cells it goes through, its length, its
+ * number of turns and the exact time spent going through it. That time depends on how the player
+ * enters the corridor: if the first movement continues in a straight line, the player keeps
+ * accelerating. So the time and the straight movements at the end of the corridor are kept for
+ * every possible entry. The edges of every node are kept together in flat arrays.
+ *
+ * The graph is built once per map by {@link LabyrinthMap#getCorridorGraph()}
+ */
+public class CorridorGraph {
+
+  /**
+   * All the directions the player can move to, indexed by their ordinal
+   */
+  private static final MovementDirection[] directions = MovementDirection.values();
+
+  /**
+   * Number of entries of every edge in the tables of times: entering after a turn (0) or in a
+   * straight line after 1 up to MAX_MOVEMENTS movements
+   */
+  private static final int ENTRIES = RouteCostEvaluator.MAX_MOVEMENTS + 1;
+
+  /**
+   * Width of the map of the graph
+   */
+  private final int width;
+
+  /**
+   * Cell of every node
+   */
+  private int[] nodeCells;
+
+  /**
+   * Node of every cell of the map, or -1 if the cell is not a node
+   */
+  private final int[] cellNodes;
+
+  /**
+   * Position of the first edge of every node. The edges of a node go up to the first edge of the
+   * next one, so it has one more position than nodes
+   */
+  private int[] firstEdges;
+
+  /**
+   * Node reached by every edge
+   */
+  private int[] edgeTargets;
+
+  /**
+   * Direction ordinal of the first movement of every edge
+   */
+  private byte[] firstDirections;
+
+  /**
+   * Direction ordinal of the last movement of every edge
+   */
+  private byte[] lastDirections;
+
+  /**
+   * Number of turns inside every edge
+   */
+  private int[] edgeTurns;
+
+  /**
+   * Position in edgeCells of the first cell of every edge. The cells of an edge go up to the first
+   * cell of the next one, so it has one more position than edges
+   */
+  private int[] firstEdgeCells;
+
+  /**
+   * Cells of all the edges, without the node where they start and with the node they reach
+   */
+  private int[] edgeCells;
+
+  /**
+   * Time spent going through every edge for every entry, in tenths
+   */
+  private int[] edgeTenths;
+
+  /**
+   * Straight movements at the end of every edge for every entry
+   */
+  private byte[] exitMovements;
+
+  /**
+   * Number of nodes
+   */
+  private int nodeCount;
+
+  /**
+   * Number of edges
+   */
+  private int edgeCount;
+
+
+  /**
+   * Constructor of the class. Builds the graph of a map going through all its corridors
+   * @param map Map of the labyrinth
+   */
+  CorridorGraph(LabyrinthMap map) {
+    width = map.getWidth();
+    cellNodes = new int[map.getCellCount()];
+    Arrays.fill(cellNodes, -1);
+    nodeCells = new int[16];
+
+    // Every passable cell that is not in the middle of a corridor is a node
+    for (int i = 0; i < map.getPassableCellCount(); i++) {
+      int cell = map.getPassableCell(i);
+      Element element = map.getElementAt(cell);
+      if (Integer.bitCount(map.getPassableMask(cell)) != 2 || element == Element.PLAYER
+          || element == Element.END) {
+        if (nodeCount == nodeCells.length) {
+          nodeCells = Arrays.copyOf(nodeCells, nodeCount * 2);
+        }
+        cellNodes[cell] = nodeCount;
+        nodeCells[nodeCount++] = cell;
+      }
+    }
+    nodeCells = Arrays.copyOf(nodeCells, nodeCount);
+
+    int capacity = 16;
+    firstEdges = new int[nodeCount + 1];
+    edgeTargets = new int[capacity];
+    firstDirections = new byte[capacity];
+    lastDirections = new byte[capacity];
+    edgeTurns = new int[capacity];
+    firstEdgeCells = new int[capacity + 1];
+    edgeCells = new int[capacity];
+    edgeTenths = new int[capacity * ENTRIES];
+    exitMovements = new byte[capacity * ENTRIES];
+
+    // Every corridor is followed from both of its nodes, which gives an edge in each direction
+    for (int node = 0; node < nodeCount; node++) {
+      firstEdges[node] = edgeCount;
+      int nodeCell = nodeCells[node];
+
+      for (int mask = map.getPassableMask(nodeCell); mask != 0; mask &= mask - 1) {
+        if (edgeCount == edgeTargets.length) {
+          growEdges();
+        }
+        addEdge(map, nodeCell, Integer.numberOfTrailingZeros(mask));
+      }
+    }
+    firstEdges[nodeCount] = edgeCount;
+  }
+
+  /**
+   * Gets the number of nodes of the graph
+   * @return The number of nodes
+   */
+  public int getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * Gets the number of edges of the graph. Every corridor counts twice, one per direction
+   * @return The number of edges
+   */
+  public int getEdgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * Gets the cell of a node
+   * @param node Number of the node
+   * @return The index of the cell of the node
+   */
+  public int getNodeCell(int node) {
+    return nodeCells[node];
+  }
+
+  /**
+   * Gets the node of a cell
+   * @param cell Index of the cell
+   * @return The number of the node, or -1 if the cell is not a node
+   */
+  public int getNodeOfCell(int cell) {
+    return cellNodes[cell];
+  }
+
+  /**
+   * Gets the first edge that starts in a node
+   * @param node Number of the node
+   * @return The number of the first edge of the node
+   */
+  public int getFirstEdge(int node) {
+    return firstEdges[node];
+  }
+
+  /**
+   * Gets the edge after the last one that starts in a node, so the edges of the node go from
+   * {@link #getFirstEdge(int)} up to this one (not included)
+   * @param node Number of the node
+   * @return The number of the edge after the last edge of the node
+   */
+  public int getEdgeLimit(int node) {
+    return firstEdges[node + 1];
+  }
+
+  /**
+   * Gets the node reached by an edge
+   * @param edge Number of the edge
+   * @return The number of the node where the edge ends
+   */
+  public int getEdgeTarget(int edge) {
+    return edgeTargets[edge];
+  }
+
+  /**
+   * Gets the number of squares travelled through an edge
+   * @param edge Number of the edge
+   * @return The number of cells of the edge, without the node where it starts
+   */
+  public int getEdgeLength(int edge) {
+    return firstEdgeCells[edge + 1] - firstEdgeCells[edge];
+  }
+
+  /**
+   * Gets the number of turns made inside an edge, without the one at its start
+   * @param edge Number of the edge
+   * @return The number of turns
+   */
+  public int getEdgeTurns(int edge) {
+    return edgeTurns[edge];
+  }
+
+  /**
+   * Gets the direction of the first movement of an edge
+   * @param edge Number of the edge
+   * @return The direction followed from the node where the edge starts
+   */
+  public MovementDirection getFirstDirection(int edge) {
+    return directions[firstDirections[edge]];
+  }
+
+  /**
+   * Gets the direction of the last movement of an edge
+   * @param edge Number of the edge
+   * @return The direction followed to reach the node where the edge ends
+   */
+  public MovementDirection getLastDirection(int edge) {
+    return directions[lastDirections[edge]];
+  }
+
+  /**
+   * Gets the time spent going through an edge
+   * @param edge Number of the edge
+   * @param heading Direction of the movement done to reach the node where the edge starts
+   * @param movements Squares travelled in the same line up to that node, from 1 up to
+   * MAX_MOVEMENTS
+   * @return The time spent in the cells of the edge, in tenths
+   */
+  public int getEdgeTenths(int edge, MovementDirection heading, int movements) {
+    return edgeTenths[edge * ENTRIES + getEntry(edge, heading, movements)];
+  }
+
+  /**
+   * Gets the squares travelled in the same line at the end of an edge
+   * @param edge Number of the edge
+   * @param heading Direction of the movement done to reach the node where the edge starts
+   * @param movements Squares travelled in the same line up to that node, from 1 up to
+   * MAX_MOVEMENTS
+   * @return The straight movements when the node where the edge ends is reached, from 1 up to
+   * MAX_MOVEMENTS
+   */
+  public int getExitMovements(int edge, MovementDirection heading, int movements) {
+    return exitMovements[edge * ENTRIES + getEntry(edge, heading, movements)];
+  }
+
+  /**
+   * Adds the cells of an edge to a route, as coordinates
+   * @param edge Number of the edge
+   * @param route Route where the cells are added, without the node where the edge starts
+   */
+  public void addEdgeCells(int edge, List<Coordinate> route) {
+    for (int i = firstEdgeCells[edge]; i < firstEdgeCells[edge + 1]; i++) {
+      route.add(new Coordinate(edgeCells[i] % width, edgeCells[i] / width));
+    }
+  }
+
+  /**
+   * Gets the entry of the tables of times of an edge
+   * @param edge Number of the edge
+   * @param heading Direction of the movement done to reach the node where the edge starts
+   * @param movements Squares travelled in the same line up to that node
+   * @return 0 if the first movement of the edge is a turn, or the movements otherwise
+   */
+  private int getEntry(int edge, MovementDirection heading, int movements) {
+    return RouteCostEvaluator.isStraight(heading, directions[firstDirections[edge]])
+        ? movements : 0;
+  }
+
+  /**
+   * Follows a corridor from a node until another node is reached and adds its edge
+   * @param map Map of the labyrinth
+   * @param nodeCell Cell of the node where the corridor starts
+   * @param firstDirection Direction ordinal of the first movement
+   */
+  private void addEdge(LabyrinthMap map, int nodeCell, int firstDirection) {
+    int edge = edgeCount++;
+    int firstCell = firstEdgeCells[edge];
+    int length = 0;
+    int turns = 0;
+
+    int previous = nodeCell;
+    int direction = firstDirection;
+    int cell = nodeCell + map.getNeighbourOffset(direction);
+    addEdgeCell(firstCell + length++, cell);
+
+    // The cells of the corridor have two neighbours: the previous one and the next one
+    while (cellNodes[cell] == -1) {
+      int nextDirection = -1;
+      for (int mask = map.getPassableMask(cell); mask != 0; mask &= mask - 1) {
+        int candidate = Integer.numberOfTrailingZeros(mask);
+        if (cell + map.getNeighbourOffset(candidate) != previous) {
+          nextDirection = candidate;
+        }
+      }
+
+      previous = cell;
+      direction = nextDirection;
+      cell += map.getNeighbourOffset(direction);
+      addEdgeCell(firstCell + length++, cell);
+    }
+
+    edgeTargets[edge] = cellNodes[cell];
+    firstDirections[edge] = (byte) firstDirection;
+    lastDirections[edge] = (byte) direction;
+    firstEdgeCells[edge + 1] = firstCell + length;
+
+    // Which movements of the corridor go in the same line as the previous one
+    boolean[] straight = new boolean[length];
+    for (int i = 1, previousDirection = firstDirection; i < length; i++) {
+      int currentDirection = getDirection(edgeCells[firstCell + i - 1], edgeCells[firstCell + i]);
+      straight[i] = RouteCostEvaluator.isStraight(directions[previousDirection],
+          directions[currentDirection]);
+      previousDirection = currentDirection;
+      if (!straight[i]) {
+        turns++;
+      }
+    }
+    edgeTurns[edge] = turns;
+
+    // The time of every entry, going through the movements of the corridor
+    for (int entry = 0; entry < ENTRIES; entry++) {
+      int movements = (entry == 0) ? 1 : Math.min(entry + 1, RouteCostEvaluator.MAX_MOVEMENTS);
+      int tenths = RouteCostEvaluator.getTenthsPerSquare(movements);
+
+      for (int i = 1; i < length; i++) {
+        movements = straight[i] ? Math.min(movements + 1, RouteCostEvaluator.MAX_MOVEMENTS) : 1;
+        tenths += RouteCostEvaluator.getTenthsPerSquare(movements);
+      }
+      edgeTenths[edge * ENTRIES + entry] = tenths;
+      exitMovements[edge * ENTRIES + entry] = (byte) movements;
+    }
+  }
+
+  /**
+   * Keeps a cell of an edge, growing the array of cells if it's full
+   * @param position Position of the cell in the array of cells
+   * @param cell Index of the cell
+   */
+  private void addEdgeCell(int position, int cell) {
+    if (position == edgeCells.length) {
+      edgeCells = Arrays.copyOf(edgeCells, edgeCells.length * 2);
+    }
+    edgeCells[position] = cell;
+  }
+
+  /**
+   * Gets the direction of the movement between two neighbour cells
+   * @param from Index of the first cell
+   * @param to Index of the second cell
+   * @return The direction ordinal of the movement
+   */
+  private int getDirection(int from, int to) {
+    int xMovement = to % width - from % width;
+    int yMovement = to / width - from / width;
+    for (MovementDirection direction : directions) {
+      if (direction.getXMovement() == xMovement && direction.getYMovement() == yMovement) {
+        return direction.ordinal();
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Doubles the capacity of the arrays of the edges
+   */
+  private void growEdges() {
+    int capacity = edgeTargets.length * 2;
+    edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+    firstDirections = Arrays.copyOf(firstDirections, capacity);
+    lastDirections = Arrays.copyOf(lastDirections, capacity);
+    edgeTurns = Arrays.copyOf(edgeTurns, capacity);
+    firstEdgeCells = Arrays.copyOf(firstEdgeCells, capacity + 1);
+    edgeTenths = Arrays.copyOf(edgeTenths, capacity * ENTRIES);
+    exitMovements = Arrays.copyOf(exitMovements, capacity * ENTRIES);
+  }
+
+}
@@ -0,0 +1,173 @@
+package app.labyrinth.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.utils.IntMinHeap;
+
+/**
+ * Strategy which finds the route that takes the least time to reach the end, like the
+ * {@link TimeOptimalRouteSolver}, but searching the {@link CorridorGraph} of the map instead of
+ * its cells. A whole corridor is travelled in one step with its exact time, so the search only
+ * stops at the intersections, the dead ends, the player and the end. The cells are only needed at
+ * the end, to expand the edges of the route.
+ *
+ * The search is done with A* over the states (node, heading, straight movements), because the time
+ * of a corridor depends on how the player enters it. Every end is a node, and the search stops at
+ * the first one polled, which is the one reached in the least time. Only the states reached are
+ * kept, as in the {@link TimeOptimalRouteSolver}
+ */
+public class CorridorGraphStrategy implements RouteStrategy {
+
+  /**
+   * All the directions the player can move to, indexed by their ordinal
+   */
+  private static final MovementDirection[] directions = MovementDirection.values();
+
+  /**
+   * Number of straight movements from which the velocity doesn't change anymore
+   */
+  private static final int MAX_MOVEMENTS = RouteCostEvaluator.MAX_MOVEMENTS;
+
+  /**
+   * Number of states kept per node: every heading with every number of straight movements
+   */
+  private static final int STATES_PER_NODE = directions.length * MAX_MOVEMENTS;
+
+
+  /**
+   * Calculates the route that spends the least time from the player to the end of the map
+   * @param map Map of the labyrinth
+   * @param statistics Statistics of the calculation. Every state expanded counts as a node and
+   * every edge followed as a neighbour check. Building the graph of the map, the first time it's
+   * needed, is part of the setup
+   * @return The list of coordinates from the player to the end, both included
+   *
+   * @throws GameException If there is no route to the end
+   */
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+
+    long phaseStart = SolverStatistics.startPhase();
+    CorridorGraph graph = map.getCorridorGraph();
+    int startNode = graph.getNodeOfCell(map.getIndexOfElement(Element.PLAYER));
+    NearestEndEstimator estimator = new NearestEndEstimator(map,
+        TimeOptimalRouteSolver::getMinimumTenths);
+
+    // Best time found for every state reached, the state it comes from and the edge followed from
+    // it. The heap keeps their ids
+    ReachedStates states = new ReachedStates();
+
+    IntMinHeap openStates = new IntMinHeap(1024);
+
+    // The player's square and the next one are travelled in the same line, so every edge of the
+    // player starts as if the player had already made one straight movement in its direction
+    for (int edge = graph.getFirstEdge(startNode); edge < graph.getEdgeLimit(startNode); edge++) {
+      MovementDirection firstDirection = graph.getFirstDirection(edge);
+      relax(graph, estimator, edge, ReachedStates.NONE, RouteCostEvaluator.INITIAL_TENTHS
+          + graph.getEdgeTenths(edge, firstDirection, 1), graph.getExitMovements(edge,
+          firstDirection, 1), states, openStates);
+    }
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    try {
+      while (!openStates.isEmpty()) {
+        int priority = openStates.peekPriority();
+        int id = openStates.poll();
+        long state = states.getState(id);
+        int node = (int) (state / STATES_PER_NODE);
+        int time = states.getTime(id);
+
+        // Skips the states already polled with a better time
+        if (priority != time + estimator.estimate(graph.getNodeCell(node))) {
+          continue;
+        }
+
+        // The heuristic is consistent, so the first time an end is polled it's the fastest route
+        if (map.isEnd(graph.getNodeCell(node))) {
+          List<Coordinate> route = getRoute(map, graph, id, states);
+          statistics.updatePeakRouteLength(route.size());
+          return route;
+        }
+
+        MovementDirection heading = directions[(int) (state % STATES_PER_NODE) / MAX_MOVEMENTS];
+        int movements = (int) (state % MAX_MOVEMENTS) + 1;
+        int firstEdge = graph.getFirstEdge(node);
+        int edgeLimit = graph.getEdgeLimit(node);
+        statistics.addNodeExpanded();
+        statistics.addNeighbourChecks(edgeLimit - firstEdge);
+
+        for (int edge = firstEdge; edge < edgeLimit; edge++) {
+          MovementDirection direction = graph.getFirstDirection(edge);
+
+          // Going back to the previous square is never faster
+          if (direction.getXMovement() == -heading.getXMovement()
+              && direction.getYMovement() == -heading.getYMovement()) {
+            continue;
+          }
+
+          relax(graph, estimator, edge, id, time + graph.getEdgeTenths(edge, heading, movements),
+              graph.getExitMovements(edge, heading, movements), states, openStates);
+        }
+      }
+
+      // There is no way to reach the end
+      throw new GameException();
+
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+
+  /**
+   * Keeps the state reached through an edge if it's faster than the best time found for it
+   * @param graph Graph of the corridors
+   * @param estimator Estimator of the minimum time to the nearest end
+   * @param edge Edge followed
+   * @param parent Id of the state from which the edge is followed, or NONE from the player
+   * @param time Time spent when the node of the edge is reached, in tenths
+   * @param movements Straight movements when the node of the edge is reached
+   * @param states States reached, with their best time, parent and the edge followed
+   * @param openStates Ids of the states waiting to be expanded
+   */
+  private void relax(CorridorGraph graph, NearestEndEstimator estimator, int edge, int parent,
+      int time, int movements, ReachedStates states, IntMinHeap openStates) {
+
+    int target = graph.getEdgeTarget(edge);
+    long state = (long) target * STATES_PER_NODE
+        + graph.getLastDirection(edge).ordinal() * MAX_MOVEMENTS + movements - 1;
+    int id = states.getId(state);
+
+    if (time < states.getTime(id)) {
+      states.update(id, time, parent, edge);
+      openStates.push(time + estimator.estimate(graph.getNodeCell(target)), id);
+    }
+  }
+
+  /**
+   * Builds the route expanding the edges followed to reach the final state
+   * @param map Map of the labyrinth
+   * @param graph Graph of the corridors
+   * @param finalId Id of the state that reached the end
+   * @param states States reached, with the state and the edge from which every one was reached
+   * @return The route from the player to the end
+   */
+  private List<Coordinate> getRoute(LabyrinthMap map, CorridorGraph graph, int finalId,
+      ReachedStates states) {
+
+    List<Integer> edges = new ArrayList<>();
+    for (int id = finalId; id != ReachedStates.NONE; id = states.getParent(id)) {
+      edges.add(states.getLink(id));
+    }
+
+    List<Coordinate> route = new ArrayList<>();
+    route.add(map.getCoordinateOfElement(Element.PLAYER));
+    for (int i = edges.size() - 1; i >= 0; i--) {
+      graph.addEdgeCells(edges.get(i), route);
+    }
+    return route;
+  }
+
+}
@@ -0,0 +1,160 @@
+package app.labyrinth.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Number of squares from every cell of a map to the nearest end, found with one breadth first
+ * search started from all the ends at once. The player can move in both ways between two neighbour
+ * cells, so the distance from a cell to an end is the same as from the end to the cell.
+ *
+ * With the distances, the route with the least squares from any cell is found by going to a
+ * neighbour one square closer to the end each time, without searching the map again. It's built
+ * once per map by {@link LabyrinthMap#getDistanceField()}
+ */
+public class DistanceField {
+
+  /**
+   * Distance of the cells from which the end can't be reached
+   */
+  public static final int UNREACHABLE = -1;
+
+  /**
+   * Map of the distances
+   */
+  private final LabyrinthMap map;
+
+  /**
+   * Number of squares from every cell to the nearest end, or UNREACHABLE
+   */
+  private final int[] distances;
+
+  /**
+   * Number of cells expanded by the search that found the distances
+   */
+  private int nodesExpanded;
+
+  /**
+   * Number of neighbours looked at by the search that found the distances
+   */
+  private int neighbourChecks;
+
+
+  /**
+   * Constructor of the class. Finds the distance of every cell to the nearest end of the map
+   * @param map Map of the labyrinth
+   *
+   * @throws MapException If the map has no end
+   */
+  DistanceField(LabyrinthMap map) {
+    this.map = map;
+    distances = new int[map.getCellCount()];
+    Arrays.fill(distances, UNREACHABLE);
+
+    int[] ends = map.getIndexesOfElement(Element.END);
+    if (ends.length == 0) {
+      throw new MapException();
+    }
+
+    // Every cell is queued at most once, so the queue can't be bigger than the map. All the ends
+    // are the first level, so every cell gets the distance to the nearest one
+    int[] queue = new int[map.getPassableCellCount()];
+    int head = 0;
+    int tail = 0;
+    for (int end : ends) {
+      distances[end] = 0;
+      queue[tail++] = end;
+    }
+
+    while (head < tail) {
+      int cell = queue[head++];
+      int nextDistance = distances[cell] + 1;
+      int passableMask = map.getPassableMask(cell);
+      neighbourChecks += Integer.bitCount(passableMask);
+
+      for (int mask = passableMask; mask != 0; mask &= mask - 1) {
+        int next = cell + map.getNeighbourOffset(Integer.numberOfTrailingZeros(mask));
+        if (distances[next] == UNREACHABLE) {
+          distances[next] = nextDistance;
+          queue[tail++] = next;
+        }
+      }
+    }
+    nodesExpanded = tail;
+  }
+
+  /**
+   * Gets the number of cells expanded by the search that found the distances
+   * @return The number of cells reached from the ends, the ends included
+   */
+  int getNodesExpanded() {
+    return nodesExpanded;
+  }
+
+  /**
+   * Gets the number of neighbours looked at by the search that found the distances
+   * @return The number of passable neighbours of all the cells expanded
+   */
+  int getNeighbourChecks() {
+    return neighbourChecks;
+  }
+
+  /**
+   * Gets the number of squares from a cell to the nearest end
+   * @param cell Index of the cell
+   * @return The number of movements to reach the nearest end, or UNREACHABLE if no end can be
+   * reached from the cell (or it's an obstacle)
+   */
+  public int getDistance(int cell) {
+    return distances[cell];
+  }
+
+  /**
+   * Gets the route with the least squares from a cell to the nearest end, going every time to the
+   * first neighbour (in the order of the directions) that is one square closer to an end
+   * @param start Index of the first cell of the route
+   * @return The list of coordinates from the start to the end, both included
+   *
+   * @throws GameException If no end can be reached from the start
+   */
+  public List<Coordinate> getRoute(int start) {
+    if (distances[start] == UNREACHABLE) {
+      throw new GameException();
+    }
+
+    List<Coordinate> route = new ArrayList<>(distances[start] + 1);
+    int cell = start;
+    route.add(map.getCoordinateOfIndex(cell));
+
+    while (distances[cell] > 0) {
+      int closerDistance = distances[cell] - 1;
+      int mask = map.getPassableMask(cell);
+      int next = cell + map.getNeighbourOffset(Integer.numberOfTrailingZeros(mask));
+      while (distances[next] != closerDistance) {
+        mask &= mask - 1;
+        next = cell + map.getNeighbourOffset(Integer.numberOfTrailingZeros(mask));
+      }
+
+      cell = next;
+      route.add(map.getCoordinateOfIndex(cell));
+    }
+    return route;
+  }
+
+  /**
+   * Gets the route with the least squares from a coordinate to the nearest end
+   * @param start Coordinate of the first square of the route
+   * @return The list of coordinates from the start to the end, both included
+   *
+   * @throws GameException If no end can be reached from the start
+   * @throws IndexOutOfBoundsException If the coordinate is outside the map
+   */
+  public List<Coordinate> getRoute(Coordinate start) {
+    return getRoute(map.getIndexOfCoordinate(start));
+  }
+
+}
@@ -0,0 +1,51 @@
+package app.labyrinth.model;
+
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Strategy which follows the {@link DistanceField} of the map from the player to the end. The
+ * field is found once per map, so when the route is calculated again on the same map (like from
+ * another start) only the cells of the route are visited. The route has the least squares, the
+ * same length as the one of the {@link BreadthFirstStrategy}
+ */
+public class DistanceFieldStrategy implements RouteStrategy {
+
+  /**
+   * Calculates the route from the player to the end following the distance field
+   * @param map Map of the labyrinth
+   * @param statistics Statistics of the calculation. Finding the distance field, the first time
+   * it's needed, is part of the setup, and the cells and neighbours of its search are counted. No
+   * node is expanded to follow the field
+   * @return The list of coordinates from the player to the end, both included
+   *
+   * @throws GameException If there is no route to the end
+   */
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+
+    long phaseStart = SolverStatistics.startPhase();
+    boolean fieldBuilt = !map.hasDistanceField();
+    DistanceField distanceField = map.getDistanceField();
+
+    // The work of the search is only counted by the calculation that finds the field
+    if (fieldBuilt) {
+      statistics.addNodesExpanded(distanceField.getNodesExpanded());
+      statistics.addNeighbourChecks(distanceField.getNeighbourChecks());
+    }
+    int start = map.getIndexOfElement(Element.PLAYER);
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    try {
+      List<Coordinate> route = distanceField.getRoute(start);
+      statistics.updatePeakRouteLength(route.size());
+      return route;
+
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+
+}
@@ -33,5 +33,20 @@ public enum Element {
     return representation;
   }
   
+  /**
+   * Gets the element represented by a character of the map. Any character that doesn't represent
+   * another element is an obstacle
+   * @param symbol Character of the map
+   * @return The element of the character
+   */
+  public static Element fromSymbol(char symbol) {
+    return switch (symbol) {
+    case '\s' -> VOID;
+    case 'P' -> PLAYER;
+    case 'F' -> END;
+    case '*' -> TRAVELLED;
+    default -> OBSTACLE;
+    };
+  }
   
 }
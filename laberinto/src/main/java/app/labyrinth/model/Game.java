@@ -1,14 +1,13 @@
 package app.labyrinth.model;
 
 import java.nio.file.Path;
-import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import app.labyrinth.model.events.RouteCalculationEvent;
+import app.labyrinth.model.events.RouteScoreEvent;
 import app.labyrinth.model.exceptions.GameException;
-import app.labyrinth.model.utils.MathUtils;
+import app.labyrinth.model.exceptions.MapException;
 
 /**
  * Complete game which defines the strategy to follow in the labrynth
@@ -19,17 +18,17 @@ public class Game {
    * Initial velocity of the player in the beginning of the game. It represents the time spent to 
    * travel 1 square
    */
-  private static final double INITIAL_VELOCITY = 1.0;
+  static final double INITIAL_VELOCITY = 1.0;
   
   /**
    * Maximum velocity the player can achieve going straight line
    */
-  private static final double MAX_VELOCITY = 0.6;
+  static final double MAX_VELOCITY = 0.6;
   
   /**
    * Acceleration gained while going in a straight line for 1 square.
    */
-  private static final double STRAIGHT_ACCELERATION = 0.1;
+  static final double STRAIGHT_ACCELERATION = 0.1;
   
   /**
    * Map used for the game
@@ -41,58 +40,45 @@ public class Game {
    */
   private List<Coordinate> route;
   
-  /**
-   * Time spent per square in the map. It will start at the INITIAL_VELOCITY
-   */
-  private double timeSpentPerSquare;
-  
   /**
    * Time spent calculating the route
    */
   private long timeSpentCalculatingRoute;
   
   /**
-   * Number of movements after doing a turn. It will count the number of squares in the same line
-   * to apply the acceleration in the formula.
+   * Statistics of the last route calculation
    */
-  private int movementsAfterATurn;
+  private SolverStatistics statistics;
   
   /**
-   * Players coordinates in the game
+   * Strategy followed to calculate the route
    */
-  private Coordinate playerCoordinate;
-  
-  
-  // ------------------------- Personal implementation -------------------------
+  private RouteStrategy strategy;
   
   /**
-   * Map of intersection coordinates associated with a list of unexplored ways found in the
-   * labyrinth.
-   * For example, if the intersection connects with 3 different ways, 1 of them already explored, 
-   * the 2 remaining coordinates to go will be kept in the associated coordinate list
-   */
-  private Map<Coordinate, List<Coordinate>> intersections;
-  
-  /**
-   * List of visited coordinates that are not intersections the player is not going 
-   * to revisit in order to find the end of the labyrinth
+   * Constructor of the class which sets up the map for the game
+   * @param mapPath Path of the txt file that contains the map made by ascii characters
+   * 
+   * @throws MapException In case there is a problem processing the map
    */
-  private List<Coordinate> recognition;
-  
-  // ---------------------------------------------------------------------------
+  public Game(Path mapPath) {
+    this(mapPath, new GreedyDepthFirstStrategy());
+  }
   
   /**
-   * Constructor of the class which sets up the map for the game
+   * Constructor of the class which sets up the map for the game and the strategy to calculate
+   * the route
    * @param mapPath Path of the txt file that contains the map made by ascii characters
+   * @param strategy Strategy followed to calculate the route
    * 
    * @throws MapException In case there is a problem processing the map
    */
-  public Game(Path mapPath) {
-    // Initializes the map, the routes (final route and recognition route) and the starting velocity
+  public Game(Path mapPath, RouteStrategy strategy) {
+    // Initializes the map, the route and the strategy
     map = new LabyrinthMap(mapPath);
     route = new ArrayList<>();
-    recognition = new ArrayList<>();
-    timeSpentPerSquare = 0;
+    this.strategy = strategy;
+    statistics = new SolverStatistics();
   }
   
   /**
@@ -111,6 +97,15 @@ public class Game {
     return timeSpentCalculatingRoute;
   }
   
+  /**
+   * Gets the statistics of the last route calculation: the time of every phase of the strategy
+   * and the work done by its search
+   * @return The statistics of the last calculation. Empty if the route has not been calculated
+   */
+  public SolverStatistics getStatistics() {
+    return statistics;
+  }
+  
   /**
    * Gets the map of the game
    * @return The map of the game
@@ -119,6 +114,34 @@ public class Game {
     return map;
   }
   
+  /**
+   * Checks if the player can reach an end of the map, without calculating the route. The check is
+   * a search over the bitboard of the map, so it's much faster than the strategies and can be done
+   * before calculating the route to discard the maps without solution
+   * @return True if there is a way from the player to an end
+   *
+   * @throws MapException If the map has no player
+   */
+  public boolean isEndReachable() {
+    return map.getBitboard().isEndReachable(map.getIndexOfElement(Element.PLAYER));
+  }
+  
+  /**
+   * Gets the strategy followed to calculate the route
+   * @return The strategy of the game
+   */
+  public RouteStrategy getStrategy() {
+    return strategy;
+  }
+  
+  /**
+   * Sets the strategy followed to calculate the route
+   * @param strategy Strategy to follow in the next route calculation
+   */
+  public void setStrategy(RouteStrategy strategy) {
+    this.strategy = strategy;
+  }
+  
   
   // -- Methods created only to make tests work. Not a good practice but helpful to check functioning --
   
@@ -150,246 +173,81 @@ public class Game {
    */
   public double getTotalTimeSpent() {
     
-    // Checks that the route has the player initial coordinates and the end coordinates
-    if (!route.contains(map.getCoordinateOfElement(Element.PLAYER)) || 
-        !route.contains(map.getCoordinateOfElement(Element.END))) {
-      throw new GameException();
-    }
+    RouteScoreEvent event = new RouteScoreEvent();
+    event.begin();
+    
+    Coordinate playerCoordinate = map.getCoordinateOfElement(Element.PLAYER);
+    // The route can finish in any of the ends
+    map.requireElement(Element.END);
     
     // If the player goes straight, he will go faster so the time per square reduces 0.1 up to 0.4.
     // 2 squares traveled to start going faster. It applies in the third one
     // If he makes a turn, the velocity will reset to 1.0
-    try {
-      // Set up the variables. Obviously, the first 2 travelled squares are in the same line
-      timeSpentPerSquare = INITIAL_VELOCITY;
-      double timeSpent = INITIAL_VELOCITY * 2;
-      
-      movementsAfterATurn = 2;
-      
-      for (int i = 2; i < route.size(); i++) {  
-        // Add a movement. If it's a turn, it resets in the next line
-        movementsAfterATurn++;
-        
-        modifyVelocityIfGoesStraight(i);
-        
-        // This method avoids precision problems
-        timeSpentPerSquare = MathUtils.roundDoubleToOneDecimalDigit(timeSpentPerSquare);
-        
-        // Adds the time spent in this square and rounds it to 1 decimal digit
-        timeSpent += timeSpentPerSquare;
-        timeSpent = MathUtils.roundDoubleToOneDecimalDigit(timeSpent);
-      }
-      
-      System.out.println("Total time spent calculated correctly");
-      
-      return timeSpent;
-      
-    // In case there is an error with de route
-    } catch (IndexOutOfBoundsException e) {
-      throw new GameException();
+    // The route is read only once, checking the player and the end while the time is added up
+    RouteCostEvaluator evaluator = new RouteCostEvaluator();
+    boolean hasPlayer = false;
+    boolean hasEnd = false;
+    
+    for (Coordinate coordinate : route) {
+      hasPlayer |= coordinate.equals(playerCoordinate);
+      hasEnd |= map.isEndAtCoordinate(coordinate);
+      evaluator.append(coordinate);
     }
     
-  }
-  
-  /**
-   * Calculates the most effective route from the beginning of the labyrinth to the end, 
-   * stablishing the time required to achieve it
-   */
-  public void calculateRoute() {
-    
-    // Time at the beggining of the algorithm
-    LocalTime startTime = LocalTime.now();
-    
-    //  ------------------------- INSERT HERE THE CODE TO RUN IN THE GAME --------------------
-    
-    // My personal strategy is: try to go straight way. if it's possible, go.
-    // If it's not, find the way to go as directly as possible calculating the squares of distance
-    
-    playerCoordinate = map.getCoordinateOfElement(Element.PLAYER);
-    Coordinate endCoordinate = map.getCoordinateOfElement(Element.END);
-    
-    // Map of intersections in case it's needed to go backwards because a dead end is found.
-    intersections = new HashMap<>();
-    
-    // The route starts with the player coordinates in the beginning
-    route.add(playerCoordinate);
-    recognition.add(playerCoordinate);
-    
-    while (!route.contains(endCoordinate)) {
-      moveEfficiently();  
+    // Checks that the route has the player initial coordinates and the end coordinates.
+    // A wrong route is recorded too, with no time spent
+    boolean validRoute = hasPlayer && hasEnd;
+    event.end();
+    if (event.shouldCommit()) {
+      event.routeLength = route.size();
+      event.timeSpent = validRoute ? evaluator.getTotalTime() : 0;
+      event.commit();
     }
     
-    //  ------------------------- END OF THE CODE TO RUN IN THE GAME -------------------------
-    
-    // Time at the end of the algorithm and time calculation
-    LocalTime endTime = LocalTime.now();
-    timeSpentCalculatingRoute = endTime.toNanoOfDay() - startTime.toNanoOfDay();
-    
-    System.out.println("Route calculated correctly");
-    
-  }
-  
-  /**
-   * Modifies the velocity of the player if he's going straigth for 3 squares in a row, or resets it
-   * in case there is a turn in the way
-   * @param routePosition Position of the player to check
-   * 
-   * @throws IndexOutOfBoundsException In case there's a problem running the List
-   */
-  private void modifyVelocityIfGoesStraight(int routePosition) {
-    
-    Coordinate first = route.get(routePosition - 2);
-    Coordinate previous = route.get(routePosition - 1);
-    Coordinate current = route.get(routePosition);
-    
-    // Check if the player doesn't make a turn
-    if ((first.x() == previous.x() && previous.x() == current.x()) || 
-        (first.y() == previous.y() && previous.y() == current.y())) {
-            
-      if (movementsAfterATurn > 2) {
-        // Going straight reduces up to 0.4, so timeSpentPerSquare can't be lesser than 0.6 (MAX)
-        timeSpentPerSquare -= (timeSpentPerSquare > MAX_VELOCITY) ? STRAIGHT_ACCELERATION : 0;
-      }
-    
-    // Resets if the player makes a turn
-    } else {
-      timeSpentPerSquare = INITIAL_VELOCITY;
-      movementsAfterATurn = 1;
-    }    
-  }
-  
-  // ------------------------- Personal implementation -------------------------
-  
-  /**
-   * Moves the player as efficiently as possible through the labyrinth
-   */
-  private void moveEfficiently() {
-    
-    // Checks the possible coordinates to go for the player
-    List<Coordinate> coordinatesToGo = getPossibleCoordinatesToGo();
-    
-    // Check if it's the end of the labyrinth
-    if (coordinatesToGo.contains(map.getCoordinateOfElement(Element.END))) {
-      route.add(map.getCoordinateOfElement(Element.END));
-    
-    } else {
-      // If it's an unsaved intersection, adds it to the map with all the possible unexplored ways
-      if (coordinatesToGo.size() > 1 && !intersections.keySet().contains(playerCoordinate)) {
-        intersections.put(playerCoordinate, coordinatesToGo);
-      }
-      
-      // Determine which one to choose if the list is not empty and adds it to the route lists
-      if (!coordinatesToGo.isEmpty()) {
-        playerCoordinate = getOptimalWay(coordinatesToGo);
-        route.add(playerCoordinate);
-        recognition.add(playerCoordinate);
-      
-      // If the list is empty, the player gets back to the last intersection
-      } else {
-        // The player's coordinates will reset to the last intersection and repeats the process
-        // until a way to move on is found
-        playerCoordinate = moveToLastIntersection();
-        moveEfficiently();
-      }
+    if (!validRoute) {
+      throw new GameException();
     }
-  }
-
-  /**
-   * Gets the possible coordinates to go for the player
-   * @return A list with the possible coordinates to go. It could be an empty list if there is no way
-   * to go without going back
-   */
-  private List<Coordinate> getPossibleCoordinatesToGo() {
-    List<Coordinate> coordinatesToGo = new ArrayList<>();
-    
-    // Check the surrounding coordinates to go
-    Map<MovementDirection, Element> surroundingElements = map.getSurroundingElements(playerCoordinate);
     
-    // Check for a non-Obstacle direction to move on where the player has not been
-    coordinatesToGo.addAll(surroundingElements.keySet()
-        .stream()
-        // Filters by no obstacle
-        .filter(direction -> !surroundingElements.get(direction).equals(Element.OBSTACLE))
-        // Maps to the coordinates asociated
-        .map(direction -> new Coordinate(playerCoordinate.x() + direction.getXMovement(), 
-            playerCoordinate.y() + direction.getYMovement()))
-        // Filters -> not have passed through this way
-        .filter(coordinate -> !recognition.contains(coordinate))
-        .toList());
+    System.out.println("Total time spent calculated correctly");
     
-    return coordinatesToGo;
+    return evaluator.getTotalTime();
   }
   
   /**
-   * Gets the optimal coordinates to proceed
-   * @param coordinatesToGo List of coordinates on which to decide the most optimal to reach the end
-   * of the labyrinth. It can't be empty 
-   * @return The optimal coordinate to proceed in the map
+   * Calculates the most effective route from the beginning of the labyrinth to the end, 
+   * stablishing the time required to achieve it
    */
-  private Coordinate getOptimalWay(List<Coordinate> coordinatesToGo) {
-    
-    // Gets the a distances list to the end of the labyrinth from the coordinate candidates to go
-    List<Integer> distances = coordinatesToGo.stream()
-        .map(this::getDirectDistanceToEnd)
-        .toList();
+  public void calculateRoute() {
     
-    // Gets the minimum distance and, with that, checks the closest coordinate to go
-    int minDistance = distances.stream()
-        .reduce(distances.get(0), (num1, num2) -> (num1 < num2) ? num1 : num2);
-        
-    return coordinatesToGo.get(distances.indexOf(minDistance));    
-  }
-  
-  /**
-   * Gets to the last intersection.
-   * Updates the intersections map (discarding this path) and the final route
-   * @return The last intersection coordinate
-   */
-  private Coordinate moveToLastIntersection() {
+    // Time at the beggining of the algorithm. nanoTime is monotonic, so the difference is
+    // always the time elapsed
+    RouteCalculationEvent event = new RouteCalculationEvent();
+    event.begin();
+    long startTime = System.nanoTime();
     
-    // Search in the route the last intersection starting from the end of the route
-    int routeSize = route.size();
-    for (int i = routeSize - 2; i > 0; i--) {
-      if (intersections.keySet().contains(route.get(i))) {
-        
-        // Get the last intersection and the first coordinate to the dead end way
-        Coordinate lastIntersection = route.get(i);
-        Coordinate deadEnd = route.get(i + 1);
-        
-        // Update the intersections map, knowing this way leads to dead end
-        List<Coordinate> possibleWaysFromLastIntersection = intersections.get(lastIntersection);
-        possibleWaysFromLastIntersection.remove(deadEnd);
-        
-        intersections.put(lastIntersection, possibleWaysFromLastIntersection);
-        
-        // Update the route, removing all the way from the intersection (not included)
-        List<Coordinate> deadEndWay = route.subList(i + 1, routeSize);
-        route.removeAll(deadEndWay);
-        
-        return lastIntersection;
+    // The routing engine is determined by the strategy of the game, which fills the statistics.
+    // The calculation is recorded even if there is no route
+    statistics = new SolverStatistics();
+    List<Coordinate> calculatedRoute = null;
+    try {
+      calculatedRoute = strategy.calculateRoute(map, statistics);
+    } finally {
+      // Time at the end of the algorithm and time calculation
+      timeSpentCalculatingRoute = System.nanoTime() - startTime;
+      event.end();
+      if (event.shouldCommit()) {
+        event.map = (map.getSourcePath() == null) ? null : map.getSourcePath().toString();
+        event.cells = map.getCellCount();
+        event.strategy = strategy.getClass().getSimpleName();
+        event.nodesExpanded = statistics.getNodesExpanded();
+        event.routeLength = (calculatedRoute == null) ? 0 : calculatedRoute.size();
+        event.commit();
       }
     }
+    route = calculatedRoute;
     
-    // If there is no intersection in the way back, it means there is no possible result of winning
-    throw new GameException();
-  }
-  
-  /**
-   * Gets the distance going straight way from the given coordinate to the end's coordinate
-   * @param coordinate Coordinate of the labyrinth to go from
-   * @param endCoordinate End's coordinate in the labyrinth
-   * @return The quantity of squares between the two both elements if it would be able to go in 
-   * a straight line
-   */
-  private int getDirectDistanceToEnd(Coordinate coordinate) {
-    // Check the end's coordinate
-    Coordinate endCoordinate = map.getCoordinateOfElement(Element.END);
+    System.out.println("Route calculated correctly");
     
-    // distance = ||x2| - |x1|| + ||y2| - |y1||
-    return Math.abs(Math.abs(endCoordinate.y()) - Math.abs(coordinate.y())) 
-        + Math.abs(Math.abs(endCoordinate.x()) - Math.abs(coordinate.x()));
   }
-
-  // ---------------------------------------------------------------------------
   
 }
@@ -0,0 +1,221 @@
+package app.labyrinth.model;
+
+import java.util.BitSet;
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Depth first strategy that always goes to the neighbour closest to the end (squares of distance).
+ * With several ends, it's the closest to the nearest one, and any end reached finishes the route.
+ * If a dead end is found, the player goes back to the last intersection and tries another way.
+ *
+ * The route is calculated with cell indexes and the neighbours given by the map, so moving the
+ * player doesn't create any object. The way back is kept in the intersections of a RoutePath
+ * instead of recursive calls, so long series of dead ends don't grow the Java stack.
+ * The instance keeps the state of the route being calculated, so it can't be shared between
+ * games calculating routes at the same time
+ */
+public class GreedyDepthFirstStrategy implements RouteStrategy {
+
+  /**
+   * Map where the route is calculated
+   */
+  private LabyrinthMap map;
+
+  /**
+   * Route being calculated from the player to the end, with its intersections
+   */
+  private RoutePath route;
+
+  /**
+   * Index of the player's cell in the route
+   */
+  private int playerCell;
+
+  /**
+   * Estimator of the squares of distance to the nearest end. It checks every end of the map
+   */
+  private NearestEndEstimator estimator;
+
+  /**
+   * Visited cells the player is not going to revisit in order to find the end of the labyrinth,
+   * one bit per cell
+   */
+  private BitSet recognition;
+
+  /**
+   * Whether the end has been added to the route
+   */
+  private boolean endReached;
+
+  /**
+   * Statistics of the route being calculated
+   */
+  private SolverStatistics statistics;
+
+  /**
+   * Buffer where the map writes the neighbours of the player's cell
+   */
+  private final int[] neighbours = new int[MovementDirection.values().length];
+
+  /**
+   * Neighbours of the player's cell not visited yet
+   */
+  private final int[] cellsToGo = new int[MovementDirection.values().length];
+
+
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+
+    // My personal strategy is: try to go straight way. if it's possible, go.
+    // If it's not, find the way to go as directly as possible calculating the squares of distance
+
+    long phaseStart = SolverStatistics.startPhase();
+    this.map = map;
+    this.statistics = statistics;
+    playerCell = map.getIndexOfElement(Element.PLAYER);
+    // The greedy search has no other guide, so the distance to every end is checked
+    estimator = new NearestEndEstimator(map, (dx, dy) -> dx + dy, Integer.MAX_VALUE);
+
+    recognition = new BitSet(map.getCellCount());
+    endReached = false;
+
+    // The route starts with the player cell in the beginning. Its intersections are kept in case
+    // it's needed to go backwards because a dead end is found.
+    route = new RoutePath(map);
+    route.add(playerCell);
+    recognition.set(playerCell);
+    statistics.updatePeakRouteLength(route.size());
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    // The backtracking is measured apart, so its time is taken out of the search
+    long backtrackingNanos = statistics.getPhaseNanos(Phase.BACKTRACKING);
+    try {
+      while (!endReached) {
+        moveEfficiently();
+      }
+    } finally {
+      backtrackingNanos = statistics.getPhaseNanos(Phase.BACKTRACKING) - backtrackingNanos;
+      statistics.addPhaseNanos(Phase.SEARCH,
+          System.nanoTime() - phaseStart - backtrackingNanos);
+    }
+
+    return route.asCoordinateList();
+  }
+
+  /**
+   * Moves the player as efficiently as possible through the labyrinth
+   */
+  private void moveEfficiently() {
+
+    // Checks the possible cells to go for the player
+    int cellsToGoCount = getPossibleCellsToGo();
+
+    // Check if it's the end of the labyrinth
+    for (int i = 0; i < cellsToGoCount; i++) {
+      if (map.isEnd(cellsToGo[i])) {
+        route.add(cellsToGo[i]);
+        statistics.updatePeakRouteLength(route.size());
+        endReached = true;
+        return;
+      }
+    }
+
+    // If it's an unsaved intersection, it's marked in case the player has to come back
+    if (cellsToGoCount > 1) {
+      route.markLastAsIntersection();
+    }
+
+    // Determine which one to choose if there is any and adds it to the route
+    if (cellsToGoCount > 0) {
+      playerCell = getOptimalWay(cellsToGoCount);
+      route.add(playerCell);
+      recognition.set(playerCell);
+      statistics.updatePeakRouteLength(route.size());
+
+    // If there is no way, the player gets back to the last intersection. The next call
+    // repeats the process until a way to move on is found
+    } else {
+      long backtrackingStart = SolverStatistics.startPhase();
+      playerCell = moveToLastIntersection();
+      statistics.endPhase(Phase.BACKTRACKING, backtrackingStart);
+      statistics.addBacktrack();
+    }
+  }
+
+  /**
+   * Gets the possible cells to go for the player, keeping them in cellsToGo
+   * @return The number of possible cells to go. It could be 0 if there is no way to go without
+   * going back
+   */
+  private int getPossibleCellsToGo() {
+    int neighboursCount = map.getPassableNeighbours(playerCell, neighbours);
+    statistics.addNodeExpanded();
+    statistics.addNeighbourChecks(neighboursCount);
+
+    // Filters the neighbours where the player has not been
+    int cellsToGoCount = 0;
+    for (int i = 0; i < neighboursCount; i++) {
+      if (!recognition.get(neighbours[i])) {
+        cellsToGo[cellsToGoCount++] = neighbours[i];
+      }
+    }
+    return cellsToGoCount;
+  }
+
+  /**
+   * Gets the optimal cell to proceed
+   * @param cellsToGoCount Number of cells in cellsToGo on which to decide the most optimal to reach
+   * the end of the labyrinth. It can't be 0
+   * @return The optimal cell to proceed in the map. If there is a tie, the first one
+   */
+  private int getOptimalWay(int cellsToGoCount) {
+    int optimalCell = cellsToGo[0];
+    int minDistance = getDirectDistanceToEnd(optimalCell);
+
+    for (int i = 1; i < cellsToGoCount; i++) {
+      int distance = getDirectDistanceToEnd(cellsToGo[i]);
+      if (distance < minDistance) {
+        minDistance = distance;
+        optimalCell = cellsToGo[i];
+      }
+    }
+    return optimalCell;
+  }
+
+  /**
+   * Gets to the last intersection, removing from the route all the way after it
+   * @return The last intersection cell
+   *
+   * @throws GameException If there is no intersection to go back, so the end can't be reached
+   */
+  private int moveToLastIntersection() {
+
+    // The player's cell doesn't count, it has no more ways to go even if it's an intersection
+    int position = route.getLastIntersectionBefore(route.size() - 1);
+
+    // If there is no intersection in the way back (the player's initial cell doesn't count),
+    // it means there is no possible result of winning
+    if (position <= 0) {
+      throw new GameException();
+    }
+
+    // Update the route, removing all the way from the intersection (not included)
+    route.truncate(position + 1);
+    return route.getLast();
+  }
+
+  /**
+   * Gets the distance going straight way from the given cell to the nearest end
+   * @param cell Cell of the labyrinth to go from
+   * @return The quantity of squares between the cell and the end if it would be able to go in
+   * a straight line
+   */
+  private int getDirectDistanceToEnd(int cell) {
+    // distance = |x2 - x1| + |y2 - y1|
+    return estimator.estimate(cell);
+  }
+
+}
@@ -0,0 +1,275 @@
+package app.labyrinth.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.utils.IntMinHeap;
+
+/**
+ * Jump Point Search strategy. It's an A* with the same costs and octile heuristic as
+ * {@link AStarStrategy}, but instead of expanding every neighbour it jumps along straight and
+ * diagonal lines until it finds a square where the way forks (a jump point). Only those squares
+ * are expanded, so long corridors and open rooms cost a few expansions instead of one per square.
+ *
+ * The diagonal movements follow the same rules as the rest of the game: the player can go
+ * diagonally even if the two squares beside the movement are obstacles. Every end of the map is a
+ * jump point, and the search stops at the first one polled
+ */
+public class JumpPointSearchStrategy implements RouteStrategy {
+
+  /**
+   * Map where the route is calculated
+   */
+  private LabyrinthMap map;
+
+  /**
+   * Estimator of the octile distance to the nearest end
+   */
+  private NearestEndEstimator estimator;
+
+  /**
+   * Statistics of the route being calculated
+   */
+  private SolverStatistics statistics;
+
+
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+
+    long phaseStart = SolverStatistics.startPhase();
+    this.map = map;
+    this.statistics = statistics;
+    int start = map.getIndexOfElement(Element.PLAYER);
+    estimator = new NearestEndEstimator(map, AStarStrategy::getOctileDistance);
+
+    // Best cost found to every jump point and the jump point from which it's reached
+    int[] costs = new int[map.getCellCount()];
+    int[] parents = new int[map.getCellCount()];
+    Arrays.fill(costs, Integer.MAX_VALUE);
+    costs[start] = 0;
+    parents[start] = start;
+
+    IntMinHeap openCells = new IntMinHeap(256);
+    openCells.push(estimator.estimate(start), start);
+
+    // Directions to jump from a cell: up to 5 pruned neighbours with a parent, 8 without it
+    int[] jumpDirections = new int[16];
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    try {
+      while (!openCells.isEmpty()) {
+        int priority = openCells.peekPriority();
+        int cell = openCells.poll();
+
+        // Skips the cells already polled with a better cost
+        if (priority != costs[cell] + estimator.estimate(cell)) {
+          continue;
+        }
+
+        if (map.isEnd(cell)) {
+          List<Coordinate> route = getRoute(parents, start, cell);
+          statistics.updatePeakRouteLength(route.size());
+          return route;
+        }
+
+        statistics.addNodeExpanded();
+        int count = getJumpDirections(cell, parents[cell], jumpDirections);
+        for (int i = 0; i < count; i += 2) {
+          int jumpPoint = jump(map.getX(cell), map.getY(cell), jumpDirections[i],
+              jumpDirections[i + 1]);
+          if (jumpPoint == -1) {
+            continue;
+          }
+
+          int nextCost = costs[cell] + AStarStrategy.getOctileDistance(
+              Math.abs(map.getX(jumpPoint) - map.getX(cell)),
+              Math.abs(map.getY(jumpPoint) - map.getY(cell)));
+
+          if (nextCost < costs[jumpPoint]) {
+            costs[jumpPoint] = nextCost;
+            parents[jumpPoint] = cell;
+            openCells.push(nextCost + estimator.estimate(jumpPoint), jumpPoint);
+          }
+        }
+      }
+
+      // There is no way to reach the end
+      throw new GameException();
+
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+
+  /**
+   * Gets the directions worth jumping to from a cell, pruning the neighbours that can be reached
+   * as fast from the parent without going through the cell (natural and forced neighbours)
+   * @param cell Index of the cell
+   * @param parent Index of the jump point from which the cell is reached. The cell itself if it's
+   * the player's cell
+   * @param directions Array to fill with the pairs of horizontal and vertical movements
+   * @return The number of values filled in the array (two per direction)
+   */
+  private int getJumpDirections(int cell, int parent, int[] directions) {
+    int count = 0;
+
+    // The player's cell has no parent, so all the directions are explored
+    if (cell == parent) {
+      for (MovementDirection direction : MovementDirection.values()) {
+        directions[count++] = direction.getXMovement();
+        directions[count++] = direction.getYMovement();
+      }
+      return count;
+    }
+
+    int x = map.getX(cell);
+    int y = map.getY(cell);
+    int dx = Integer.signum(x - map.getX(parent));
+    int dy = Integer.signum(y - map.getY(parent));
+
+    if (dx != 0 && dy != 0) {
+      // Diagonal: both straight components, the diagonal and the forced neighbours behind
+      count = addDirection(directions, count, 0, dy);
+      count = addDirection(directions, count, dx, 0);
+      count = addDirection(directions, count, dx, dy);
+      if (!isPassable(x - dx, y)) {
+        count = addDirection(directions, count, -dx, dy);
+      }
+      if (!isPassable(x, y - dy)) {
+        count = addDirection(directions, count, dx, -dy);
+      }
+
+    } else if (dx != 0) {
+      // Horizontal: the same direction and the forced neighbours beside the obstacles
+      count = addDirection(directions, count, dx, 0);
+      if (!isPassable(x, y + 1)) {
+        count = addDirection(directions, count, dx, 1);
+      }
+      if (!isPassable(x, y - 1)) {
+        count = addDirection(directions, count, dx, -1);
+      }
+
+    } else {
+      // Vertical: the same direction and the forced neighbours beside the obstacles
+      count = addDirection(directions, count, 0, dy);
+      if (!isPassable(x + 1, y)) {
+        count = addDirection(directions, count, 1, dy);
+      }
+      if (!isPassable(x - 1, y)) {
+        count = addDirection(directions, count, -1, dy);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Adds a direction to the array of directions to jump
+   * @param directions Array of pairs of horizontal and vertical movements
+   * @param count Number of values already in the array
+   * @param dx Horizontal movement
+   * @param dy Vertical movement
+   * @return The new number of values in the array
+   */
+  private int addDirection(int[] directions, int count, int dx, int dy) {
+    directions[count] = dx;
+    directions[count + 1] = dy;
+    return count + 2;
+  }
+
+  /**
+   * Goes from a cell in a direction until a jump point is found: an end, a cell with a forced
+   * neighbour or, going diagonally, a cell from which a straight jump finds a jump point
+   * @param x Horizontal position of the cell to jump from
+   * @param y Vertical position of the cell to jump from
+   * @param dx Horizontal movement of the direction
+   * @param dy Vertical movement of the direction
+   * @return The index of the jump point, or -1 if an obstacle is found before
+   */
+  private int jump(int x, int y, int dx, int dy) {
+
+    while (true) {
+      x += dx;
+      y += dy;
+
+      if (!isPassable(x, y)) {
+        return -1;
+      }
+
+      int cell = map.getIndex(x, y);
+      if (map.isEnd(cell)) {
+        return cell;
+      }
+
+      if (dx != 0 && dy != 0) {
+        // Going diagonally, the cell is a jump point if a straight jump from it finds one
+        if ((!isPassable(x - dx, y) && isPassable(x - dx, y + dy))
+            || (!isPassable(x, y - dy) && isPassable(x + dx, y - dy))
+            || jump(x, y, dx, 0) != -1 || jump(x, y, 0, dy) != -1) {
+          return cell;
+        }
+
+      } else if (dx != 0) {
+        if ((!isPassable(x, y + 1) && isPassable(x + dx, y + 1))
+            || (!isPassable(x, y - 1) && isPassable(x + dx, y - 1))) {
+          return cell;
+        }
+
+      } else {
+        if ((!isPassable(x + 1, y) && isPassable(x + 1, y + dy))
+            || (!isPassable(x - 1, y) && isPassable(x - 1, y + dy))) {
+          return cell;
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks if the player can pass over the given position. The jumps can reach the borders of the
+   * map, so the position is checked to be inside it. Every call counts as a neighbour check
+   * @param x Horizontal position
+   * @param y Vertical position
+   * @return True if the position is inside the map and it's not an obstacle
+   */
+  private boolean isPassable(int x, int y) {
+    statistics.addNeighbourChecks(1);
+    return x >= 0 && y >= 0 && x < map.getWidth() && y < map.getHeight()
+        && !map.isObstacle(map.getIndex(x, y));
+  }
+
+  /**
+   * Builds the route going back from the end through the jump points, filling the squares
+   * between every jump point and its parent
+   * @param parents Jump point from which every jump point was reached
+   * @param start Index of the player's cell
+   * @param end Index of the end reached
+   * @return The route from the player to the end
+   */
+  private List<Coordinate> getRoute(int[] parents, int start, int end) {
+    List<Coordinate> route = new ArrayList<>();
+
+    for (int cell = end; cell != start; cell = parents[cell]) {
+      int x = map.getX(cell);
+      int y = map.getY(cell);
+      int parentX = map.getX(parents[cell]);
+      int parentY = map.getY(parents[cell]);
+      int dx = Integer.signum(parentX - x);
+      int dy = Integer.signum(parentY - y);
+
+      // Every square of the line, from the jump point to its parent (not included)
+      while (x != parentX || y != parentY) {
+        route.add(new Coordinate(x, y));
+        x += dx;
+        y += dy;
+      }
+    }
+    route.add(map.getCoordinateOfIndex(start));
+
+    Collections.reverse(route);
+    return route;
+  }
+
+}
@@ -4,8 +4,11 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
+import app.labyrinth.model.exceptions.MapException;
+
 /**
  * Class constituted by static methods for reading and writing a Labyrinth map from/into a file 
  */
@@ -17,14 +20,21 @@ public class LabyrinthFileManager {
   private LabyrinthFileManager() {}
   
   /**
-   * Read the file and retrieve all the lines of the map in a list
+   * Read the file and retrieve all the lines of the map in a list. Binary maps (.lbm) are
+   * converted to the ASCII lines they represent, drawing every obstacle with its first
+   * representation
    * @param mapPath Path of the file that contains the labyrinth map
    * @return A list containing all the lines of the map
    * 
    * @throws IOException In case any problem occurs during the process
+   * @throws MapException In case the binary map is not valid
    */
   public static List<String> readMapLines(Path mapPath) throws IOException{
 
+      if (BinaryMapFormat.isBinaryMap(mapPath)) {
+        MapLoader.PackedMap packedMap = BinaryMapFormat.read(mapPath);
+        return getMapLines(packedMap.cells(), packedMap.width(), packedMap.height());
+      }
       return Files.readAllLines(mapPath);
 
   }
@@ -46,4 +56,112 @@ public class LabyrinthFileManager {
     
   }
   
+  /**
+   * Writes a map in a file, in the binary format if the file name ends with .lbm or with ASCII
+   * characters otherwise. If the file already exists, it gets overwritten.
+   * @param mapPath Path of the file to write
+   * @param map Map to write
+   * 
+   * @throws IOException In case any problem occurs during the process
+   */
+  public static void writeMap(Path mapPath, LabyrinthMap map) throws IOException {
+    
+    if (BinaryMapFormat.isBinaryMap(mapPath)) {
+      BinaryMapFormat.write(mapPath, map.getCells(), map.getWidth(), map.getHeight());
+    } else {
+      List<String> lines = getMapLines(map.getCells(), map.getWidth(), map.getHeight());
+      lines.replaceAll(line -> line + "\n");
+      writeMap(mapPath, lines);
+    }
+    
+  }
+  
+  /**
+   * Writes a map with the route followed by the player drawn over it, in the binary format if the
+   * file name ends with .lbm or with ASCII characters otherwise. Every square of the route is
+   * changed to the travelled element, as in {@link #getSolvedMapLines(List, List)}. If the file
+   * already exists, it gets overwritten.
+   * @param mapPath Path of the file to write
+   * @param map Map solved. It's not modified
+   * @param route Route followed by the player trying to reach the end of the maze
+   * 
+   * @throws IOException In case any problem occurs during the process
+   * @throws MapException In case the source file of the map is not valid
+   */
+  public static void writeSolvedMap(Path mapPath, LabyrinthMap map, List<Coordinate> route)
+      throws IOException {
+    
+    if (BinaryMapFormat.isBinaryMap(mapPath)) {
+      byte[] cells = map.getCells().clone();
+      for (Coordinate coordinate : route) {
+        if (coordinate.y() >= 0 && coordinate.y() < map.getHeight()
+            && coordinate.x() >= 0 && coordinate.x() < map.getWidth()) {
+          cells[map.getIndex(coordinate.x(), coordinate.y())] = (byte) Element.TRAVELLED.ordinal();
+        }
+      }
+      BinaryMapFormat.write(mapPath, cells, map.getWidth(), map.getHeight());
+    } else {
+      
+      // The lines of the source file keep the characters used for every obstacle
+      List<String> mapLines = (map.getSourcePath() != null)
+          ? readMapLines(map.getSourcePath())
+          : getMapLines(map.getCells(), map.getWidth(), map.getHeight());
+      writeMap(mapPath, getSolvedMapLines(mapLines, route));
+    }
+    
+  }
+  
+  /**
+   * Gets the lines of a map with ASCII characters from its packed cells. Every element is drawn
+   * with its first representation
+   * @param cells Ordinals of the elements of the cells, indexed by y * width + x
+   * @param width Number of columns
+   * @param height Number of rows
+   * @return A list containing all the lines of the map, without line breaks
+   */
+  private static List<String> getMapLines(byte[] cells, int width, int height) {
+    Element[] elements = Element.values();
+    List<String> lines = new ArrayList<>(height);
+    char[] line = new char[width];
+    
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        line[j] = elements[cells[i * width + j]].getRepresentation()[0];
+      }
+      lines.add(String.valueOf(line));
+    }
+    return lines;
+  }
+  
+  /**
+   * Gets the lines of a map with the route followed by the player drawn over them, ready to be
+   * written with {@link #writeMap(Path, List)}. Every square of the route is changed to '*'
+   * (Element travelled) and every line ends with a line break
+   * @param mapLines Lines of the original map. They are not modified
+   * @param route Route followed by the player trying to reach the end of the maze
+   * @return A new list with the lines of the solved map
+   */
+  public static List<String> getSolvedMapLines(List<String> mapLines, List<Coordinate> route) {
+    
+    // Divides every line into a char array
+    char[][] lines = new char[mapLines.size()][];
+    for (int i = 0; i < lines.length; i++) {
+      lines[i] = mapLines.get(i).toCharArray();
+    }
+    
+    // Only the squares of the route are changed, instead of searching every square in the route
+    for (Coordinate coordinate : route) {
+      if (coordinate.y() >= 0 && coordinate.y() < lines.length 
+          && coordinate.x() >= 0 && coordinate.x() < lines[coordinate.y()].length) {
+        lines[coordinate.y()][coordinate.x()] = '*';
+      }
+    }
+    
+    List<String> solvedLines = new ArrayList<>(lines.length);
+    for (char[] line : lines) {
+      solvedLines.add(String.valueOf(line) + "\n");
+    }
+    return solvedLines;
+  }
+  
 }
@@ -1,16 +1,19 @@
 package app.labyrinth.model;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+import app.labyrinth.model.events.MapLoadEvent;
 import app.labyrinth.model.exceptions.MapException;
 
 /**
  * Map where the game is played. Basically, it consists in a labyrinth bordered and composed by walls, 
- * a player and the end (objective to reach)
+ * a player and the end (objective to reach). There can be several ends, and reaching any of them
+ * finishes the labyrinth
  */
 public class LabyrinthMap {
   
@@ -23,22 +26,111 @@ public class LabyrinthMap {
       MovementDirection.DOWN_RIGHT};
   
   /**
-   * The map represented by a bidimensional array
+   * All the elements indexed by their ordinal, used to decode the packed cells
    */
-  private Element[][] mapArray;
+  private static final Element[] elements = Element.values();
+
+  /**
+   * The map packed in a flat array. Every cell keeps the ordinal of its element and it's
+   * indexed by y * width + x
+   */
+  private byte[] cells;
+
+  /**
+   * Number of columns of the map
+   */
+  private int width;
+
+  /**
+   * Number of rows of the map
+   */
+  private int height;
+
+  /**
+   * Directions where the player can move from every cell, one bit per direction ordinal.
+   * A bit is set if the neighbour is inside the map and it's not an obstacle
+   */
+  private byte[] passableMasks;
+
+  /**
+   * Offsets to add to a cell index to get its neighbour, indexed by the direction ordinal
+   */
+  private int[] neighbourOffsets;
+
+  /**
+   * Index of the first cell with the player. -1 if there is no player
+   */
+  private int playerIndex;
+
+  /**
+   * Index of the first cell with the end. -1 if there is no end
+   */
+  private int endIndex;
+
+  /**
+   * Indexes of all the cells with a player, in increasing order
+   */
+  private int[] playerIndexes;
+
+  /**
+   * Indexes of all the cells with an end, in increasing order
+   */
+  private int[] endIndexes;
+
+  /**
+   * Number of cells of every element, indexed by the element ordinal
+   */
+  private int[] elementCounts;
+
+  /**
+   * Indexes of all the cells that are not obstacles, in increasing order
+   */
+  private int[] passableCells;
+
+  /**
+   * Path of the file the map was read from. Null if the map was not read from a file
+   */
+  private Path sourcePath;
+
+  /**
+   * Graph of the corridors of the map. Null until it's needed for the first time
+   */
+  private CorridorGraph corridorGraph;
+
+  /**
+   * Distances from every cell to the end. Null until they're needed for the first time
+   */
+  private DistanceField distanceField;
+
+  /**
+   * Bitboard of the passable cells. Null until it's needed for the first time
+   */
+  private Bitboard bitboard;
   
   
   /**
    * Constructor of the class. Creates a map using the path of a txt file with a labyrinth made by
-   * ascii characters
-   * @param mapPath Path of the txt file that contains the maze
+   * ascii characters, or a binary map file (.lbm)
+   * @param mapPath Path of the txt or lbm file that contains the maze
    * 
    * @throws MapException In case there is a problem processing the map
    */
   public LabyrinthMap(Path mapPath) {
     
-    // Sets the map using the txt file path
+    // Sets the map using the txt file path. The event is only filled if it's recorded
+    MapLoadEvent event = new MapLoadEvent();
+    event.begin();
     setInitialMap(mapPath);
+    sourcePath = mapPath;
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.path = mapPath.toString();
+      event.rows = height;
+      event.columns = width;
+      event.bytes = getFileSize(mapPath);
+      event.commit();
+    }
     
     // Send an ok message
     System.out.println("Map created correctly");
@@ -46,59 +138,329 @@ public class LabyrinthMap {
   
   
   /**
-   * Gets the labyrinth map array
+   * Gets the labyrinth map array. The array is built from the packed cells, so modifying it
+   * doesn't modify the map
    * @return The labyrinth map array
    */
   public Element[][] getMapArray() {
+    Element[][] mapArray = new Element[height][width];
+
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        mapArray[i][j] = elements[cells[i * width + j]];
+      }
+    }
     return mapArray;
   }
 
   /**
-   * Sets a labyrinth map array
-   * @param mapArray Game map array to set
+   * Sets a labyrinth map array, packing it into the map cells
+   * @param mapArray Game map array to set. All the rows must have the same length
+   *
+   * @throws MapException If the rows of the array don't have the same length
    */
   public void setMapArray(Element[][] mapArray) {
-    this.mapArray = mapArray;
+    int rows = mapArray.length;
+    int columns = (rows == 0) ? 0 : mapArray[0].length;
+    byte[] packedCells = new byte[rows * columns];
+
+    for (int i = 0; i < rows; i++) {
+      Element[] row = mapArray[i];
+      if (row.length != columns) {
+        throw new MapException();
+      }
+      for (int j = 0; j < columns; j++) {
+        packedCells[i * columns + j] = (byte) row[j].ordinal();
+      }
+    }
+
+    setCells(packedCells, columns, rows);
+    sourcePath = null;
+  }
+
+  /**
+   * Gets the number of columns of the map
+   * @return The width of the map
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the number of rows of the map
+   * @return The height of the map
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the path of the file the map was read from
+   * @return The path of the file, or null if the map was not read from a file or it was changed
+   * with {@link #setMapArray(Element[][])}
+   */
+  public Path getSourcePath() {
+    return sourcePath;
+  }
+
+  /**
+   * Gets the packed cells of the map, to write them without copying. They must not be modified
+   * @return The ordinals of the elements of the cells, indexed by y * width + x
+   */
+  byte[] getCells() {
+    return cells;
+  }
+
+  /**
+   * Gets the graph of the corridors of the map. It's built the first time it's needed and kept
+   * until the map changes
+   * @return The graph of the corridors
+   */
+  public CorridorGraph getCorridorGraph() {
+    if (corridorGraph == null) {
+      corridorGraph = new CorridorGraph(this);
+    }
+    return corridorGraph;
+  }
+
+  /**
+   * Gets the distances from every cell to the nearest end of the map. They're found the first time
+   * they're needed and kept until the map changes, so the route from any cell can be got without
+   * searching the map again
+   * @return The distance field of the map
+   *
+   * @throws MapException If the map has no end
+   */
+  public DistanceField getDistanceField() {
+    if (distanceField == null) {
+      distanceField = new DistanceField(this);
+    }
+    return distanceField;
+  }
+
+  /**
+   * Checks if the distance field of the map is already built
+   * @return True if the distance field is kept, so getting it doesn't build it
+   */
+  boolean hasDistanceField() {
+    return distanceField != null;
+  }
+
+  /**
+   * Gets the bitboard of the map, with one bit per cell, to check quickly if an end can be
+   * reached. It's built the first time it's needed and kept until the map changes
+   * @return The bitboard of the map
+   */
+  public Bitboard getBitboard() {
+    if (bitboard == null) {
+      bitboard = new Bitboard(this);
+    }
+    return bitboard;
+  }
+
+  /**
+   * Gets the total number of cells of the map
+   * @return The number of cells (width * height)
+   */
+  public int getCellCount() {
+    return cells.length;
   }
 
 
   /**
-   * Gets the element's position in the map (player or end coordinates)
+   * Gets the element's position in the map (player or end coordinates). The positions are found
+   * when the map is set, so this method doesn't go through the map
    * @param searchedElement Element whose position is required. It should be the player or the end of
-   * the map, given that they are the only two unique elements of the map 
+   * the map. If there are several, the first one (by rows) is given, and all of them can be got
+   * with {@link #getIndexesOfElement(Element)}
    * @return The coordinates of the player if it's found
    * 
    * @throws MapException If the element is not found in the map or an element different from 
    * the player or the end is tried to be found
    */
   public Coordinate getCoordinateOfElement(Element searchedElement) {
+    return getCoordinateOfIndex(getIndexOfElement(searchedElement));
+  }
+
+  /**
+   * Gets the cell index of the element's position in the map (player or end cell)
+   * @param searchedElement Element whose position is required. It should be the player or the end
+   * @return The index of the first cell of the map with the element
+   *
+   * @throws MapException If the element is not found in the map or an element different from
+   * the player or the end is tried to be found
+   */
+  public int getIndexOfElement(Element searchedElement) {
     
     // The only permitted elements to be searched are the player and the end
-    if (!searchedElement.equals(Element.END) && !searchedElement.equals(Element.PLAYER)) {
+    int index = switch (searchedElement) {
+    case PLAYER -> playerIndex;
+    case END -> endIndex;
+    default -> throw new MapException();
+    };
+
+    // It should never be -1. There is always a player and an end in the game
+    if (index == -1) {
       throw new MapException();
     }
+    return index;
+  }
     
-    // Gets through the array to find and retrieve the coordinates
-    for (int i = 0; i < mapArray.length; i++) {
-      Element[] row = mapArray[i];
-      for (int j = 0; j < row.length; j++) {
-        // If the element is found
-        if (row[j].equals(searchedElement)){
-          return new Coordinate(j, i);
-        }
-      }
+  /**
+   * Gets the cell indexes of all the positions of an element in the map (all the players or all
+   * the ends)
+   * @param searchedElement Element whose positions are required. It should be the player or the end
+   * @return A new array with the indexes of the cells with the element, in increasing order. Empty
+   * if there is none
+   *
+   * @throws MapException If an element different from the player or the end is tried to be found
+   */
+  public int[] getIndexesOfElement(Element searchedElement) {
+    return switch (searchedElement) {
+    case PLAYER -> playerIndexes.clone();
+    case END -> endIndexes.clone();
+    default -> throw new MapException();
+    };
+  }
+
+  /**
+   * Gets the number of cells of the map with the given element
+   * @param element Element to count
+   * @return The number of cells with the element
+   */
+  public int getElementCount(Element element) {
+    return elementCounts[element.ordinal()];
+  }
+
+  /**
+   * Checks the map has at least one cell with the given element
+   * @param element Element required
+   *
+   * @throws MapException If no cell of the map has the element
+   */
+  public void requireElement(Element element) {
+    if (getElementCount(element) == 0) {
+      throw new MapException();
     }
-    // It should never get here. There is always a player and an end in the game
-    throw new MapException();
+  }
+
+  /**
+   * Gets the number of cells of the map that are not obstacles
+   * @return The number of cells where the player can be
+   */
+  public int getPassableCellCount() {
+    return passableCells.length;
+  }
+
+  /**
+   * Gets a cell of the map that is not an obstacle
+   * @param position Position of the cell among the passable cells, from 0 to
+   * getPassableCellCount() - 1. They are in the same order as the cell indexes
+   * @return The index of the cell
+   */
+  public int getPassableCell(int position) {
+    return passableCells[position];
   }
   
   /**
    * Gets the element of the map allocated on the given coordinate
    * @param coordinate Coordinate to check the element in
    * @return The element allocated on the given coordinate
+   *
+   * @throws IndexOutOfBoundsException If the coordinate is outside the map
    */
   public Element getElementAtCoordinate(Coordinate coordinate) {
-    return mapArray[coordinate.y()][coordinate.x()];
+    return elements[cells[getIndexOfCoordinate(coordinate)]];
+  }
+
+  /**
+   * Gets the element of the map allocated on the given cell index
+   * @param index Index of the cell (y * width + x)
+   * @return The element allocated on the given cell
+   */
+  public Element getElementAt(int index) {
+    return elements[cells[index]];
+  }
+
+  /**
+   * Checks if the cell of the given index is an obstacle
+   * @param index Index of the cell (y * width + x)
+   * @return True if the cell is an obstacle, false if the player can pass over it
+   */
+  public boolean isObstacle(int index) {
+    return cells[index] == Element.OBSTACLE.ordinal();
+  }
+
+  /**
+   * Checks if the cell of the given index is an end. The map can have several ends, and any of
+   * them finishes the labyrinth
+   * @param index Index of the cell (y * width + x)
+   * @return True if the cell is an end
+   */
+  public boolean isEnd(int index) {
+    return cells[index] == Element.END.ordinal();
+  }
+
+  /**
+   * Checks if there is an end on the given coordinate
+   * @param coordinate Coordinate to check
+   * @return True if the coordinate is inside the map and there is an end on it
+   */
+  public boolean isEndAtCoordinate(Coordinate coordinate) {
+    return coordinate.x() >= 0 && coordinate.x() < width && coordinate.y() >= 0
+        && coordinate.y() < height && isEnd(getIndex(coordinate.x(), coordinate.y()));
+  }
+
+  /**
+   * Gets the cell index of the given coordinate
+   * @param coordinate Coordinate of the cell
+   * @return The index of the cell (y * width + x)
+   *
+   * @throws IndexOutOfBoundsException If the coordinate is outside the map
+   */
+  public int getIndexOfCoordinate(Coordinate coordinate) {
+    // A column out of the map would point to a cell of another row, so it is checked apart
+    Objects.checkIndex(coordinate.x(), width);
+    Objects.checkIndex(coordinate.y(), height);
+    return coordinate.y() * width + coordinate.x();
+  }
+
+  /**
+   * Gets the cell index of the given horizontal and vertical positions. They're not checked, so
+   * they must be inside the map
+   * @param x Horizontal position of the cell
+   * @param y Vertical position of the cell
+   * @return The index of the cell (y * width + x)
+   */
+  public int getIndex(int x, int y) {
+    return y * width + x;
+  }
+
+  /**
+   * Gets the horizontal position of a cell index
+   * @param index Index of the cell
+   * @return The horizontal position of the cell
+   */
+  public int getX(int index) {
+    return index % width;
+  }
+
+  /**
+   * Gets the vertical position of a cell index
+   * @param index Index of the cell
+   * @return The vertical position of the cell
+   */
+  public int getY(int index) {
+    return index / width;
+  }
+
+  /**
+   * Gets the coordinate of a cell index
+   * @param index Index of the cell
+   * @return The coordinate of the cell
+   */
+  public Coordinate getCoordinateOfIndex(int index) {
+    return new Coordinate(index % width, index / width);
   }
   
   /**
@@ -112,19 +474,154 @@ public class LabyrinthMap {
     // called only from the player to move and the maze is always bordered
     
     Map<MovementDirection, Element> surroundingElements = new EnumMap<>(MovementDirection.class);
+    int index = getIndexOfCoordinate(coordinate);
     
     // Adds all the movement directions and the elements associated
     for (MovementDirection direction : directions) {
-      surroundingElements.put(direction, 
-          getElementAtCoordinate(new Coordinate(coordinate.x() + direction.getXMovement()
-          , coordinate.y() + direction.getYMovement())));
+      surroundingElements.put(direction, elements[cells[index
+          + direction.getYMovement() * width + direction.getXMovement()]]);
     }
     
     return surroundingElements;
   }
   
   /**
-   * Reads the map from a file and stablish all the required elements in the class
+   * Gets the directions where the player can move from a cell
+   * @param index Index of the cell
+   * @return A mask with the bit (1 << ordinal) set for every direction whose neighbour is inside
+   * the map and it's not an obstacle
+   */
+  public int getPassableMask(int index) {
+    return passableMasks[index] & 0xFF;
+  }
+
+  /**
+   * Gets the offset to add to a cell index to get its neighbour in a direction
+   * @param directionOrdinal Ordinal of the movement direction
+   * @return The offset of the neighbour
+   */
+  public int getNeighbourOffset(int directionOrdinal) {
+    return neighbourOffsets[directionOrdinal];
+  }
+
+  /**
+   * Gets the neighbours of a cell where the player can move, without creating any object
+   * @param index Index of the cell
+   * @param buffer Array where the indexes of the neighbours are written, in the order of the
+   * direction ordinals. It must have room for all the directions
+   * @return The number of neighbours written in the buffer
+   */
+  public int getPassableNeighbours(int index, int[] buffer) {
+    int count = 0;
+
+    // Every set bit of the mask is a direction to go
+    for (int mask = passableMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+      buffer[count++] = index + neighbourOffsets[Integer.numberOfTrailingZeros(mask)];
+    }
+    return count;
+  }
+
+  /**
+   * Sets the packed cells of the map and indexes them: the neighbours of every cell, the position
+   * of the player and the end, the number of cells of every element and the passable cells. The
+   * graph of the corridors and the distance field of the previous cells are discarded
+   * @param packedCells Cells of the map, indexed by y * columns + x
+   * @param columns Number of columns of the map
+   * @param rows Number of rows of the map
+   */
+  private void setCells(byte[] packedCells, int columns, int rows) {
+    cells = packedCells;
+    width = columns;
+    height = rows;
+    corridorGraph = null;
+    distanceField = null;
+    bitboard = null;
+
+    MovementDirection[] allDirections = MovementDirection.values();
+    neighbourOffsets = new int[allDirections.length];
+    for (MovementDirection direction : allDirections) {
+      neighbourOffsets[direction.ordinal()] = direction.getYMovement() * width
+          + direction.getXMovement();
+    }
+
+    playerIndex = -1;
+    endIndex = -1;
+    elementCounts = new int[elements.length];
+    passableMasks = new byte[cells.length];
+
+    // Everything but the passable cells is indexed in the same pass through the cells
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int index = y * width + x;
+        int ordinal = cells[index];
+        elementCounts[ordinal]++;
+
+        if (ordinal == Element.PLAYER.ordinal() && playerIndex == -1) {
+          playerIndex = index;
+        } else if (ordinal == Element.END.ordinal() && endIndex == -1) {
+          endIndex = index;
+        }
+
+        // The mask of every cell has a bit per direction where the player can go
+        int mask = 0;
+        for (MovementDirection direction : allDirections) {
+          int neighbourX = x + direction.getXMovement();
+          int neighbourY = y + direction.getYMovement();
+          if (neighbourX >= 0 && neighbourY >= 0 && neighbourX < width && neighbourY < height
+              && cells[neighbourY * width + neighbourX] != Element.OBSTACLE.ordinal()) {
+            mask |= 1 << direction.ordinal();
+          }
+        }
+        passableMasks[index] = (byte) mask;
+      }
+    }
+
+    // The counts give the number of passable cells, so their indexes are kept in an array of the
+    // exact size with a second pass instead of a temporary array of every cell
+    passableCells = new int[cells.length - elementCounts[Element.OBSTACLE.ordinal()]];
+    int passableCount = 0;
+    for (int index = 0; index < cells.length; index++) {
+      if (cells[index] != Element.OBSTACLE.ordinal()) {
+        passableCells[passableCount++] = index;
+      }
+    }
+    playerIndexes = findAll(Element.PLAYER, playerIndex);
+    endIndexes = findAll(Element.END, endIndex);
+  }
+
+  /**
+   * Finds all the cells with an element, knowing how many there are and where the first one is
+   * @param element Element searched
+   * @param firstIndex Index of the first cell with the element, or -1 if there is none
+   * @return The indexes of the cells with the element, in increasing order
+   */
+  private int[] findAll(Element element, int firstIndex) {
+    int[] indexes = new int[elementCounts[element.ordinal()]];
+    int found = 0;
+    for (int index = firstIndex; found < indexes.length; index++) {
+      if (cells[index] == element.ordinal()) {
+        indexes[found++] = index;
+      }
+    }
+    return indexes;
+  }
+
+  /**
+   * Gets the size of a file for the load event
+   * @param mapPath Path of the file
+   * @return The size of the file in bytes, or -1 if it can't be read
+   */
+  private static long getFileSize(Path mapPath) {
+    try {
+      return Files.size(mapPath);
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Reads the map from a file and stablish all the required elements in the class. The file is
+   * decoded straight into the packed cells by the MapLoader
    * @param mapPath path of the txt file that contains the map
    *  
    * @throws MapException In case any problem occurs during the process
@@ -132,28 +629,8 @@ public class LabyrinthMap {
   private void setInitialMap(Path mapPath){
     
     try {
-      // Getting the column and row sizes to initialize the mapArray
-      List<String> allLines = LabyrinthFileManager.readMapLines(mapPath);
-      int rows = allLines.size();
-      int columns = allLines.get(0).length();
-      
-      mapArray = new Element[rows][columns];
-      
-      // Reading all the lines to fill the array, partitioning every line into a char array
-      for (int i = 0; i < rows; i++) {
-        char[] elements = allLines.get(i).toCharArray();
-        for (int j = 0; j < columns; j++) {
-          
-          // Determines the type of the element depending on the char
-          mapArray[i][j] = switch (elements[j]) {
-          case '\s' -> Element.VOID;
-          case 'P' -> Element.PLAYER;
-          case 'F' -> Element.END;
-          case '*' -> Element.TRAVELLED;
-          default -> Element.OBSTACLE;
-          };  
-        }
-      }
+      MapLoader.PackedMap packedMap = MapLoader.load(mapPath);
+      setCells(packedMap.cells(), packedMap.width(), packedMap.height());
       
     // In case of any problem during the process, a personalized exception is thrown  
     } catch (IOException | IndexOutOfBoundsException e) {
@@ -161,6 +638,4 @@ public class LabyrinthMap {
     }
   }
   
-  
-  
 }
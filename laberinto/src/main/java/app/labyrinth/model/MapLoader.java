@@ -0,0 +1,305 @@
+package app.labyrinth.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Loader of the map files into packed cells. The file is memory mapped and its bytes are decoded
+ * straight into the cells in one pass, without creating a String per line, so the only memory
+ * needed is the one of the cells. The lines follow the same rules as
+ * {@link java.nio.file.Files#readAllLines(Path)}: they end in '\n', '\r' or "\r\n", the last line
+ * break is optional, the width of the map is the length of the first line and longer lines are
+ * cut. If the file has any character out of ASCII, it's read line by line as before.
+ *
+ * Big files whose lines all have the same length and line break are decoded in parallel: the
+ * position of every row is known, so chunks of rows are decoded at the same time straight into
+ * the cells. The result is the same as decoding them one by one
+ */
+final class MapLoader {
+
+  /**
+   * Ordinal of the element of every ASCII character
+   */
+  private static final byte[] asciiOrdinals = new byte[128];
+
+  /**
+   * Size of the files (in bytes) from which the rows are decoded in parallel
+   */
+  static final int PARALLEL_THRESHOLD = 8 * 1024 * 1024;
+
+  /**
+   * Number of chunks of rows per thread of the pool, so the threads that finish first can take
+   * more chunks
+   */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  static {
+    for (char symbol = 0; symbol < asciiOrdinals.length; symbol++) {
+      asciiOrdinals[symbol] = (byte) Element.fromSymbol(symbol).ordinal();
+    }
+  }
+
+  /**
+   * Map read from a file: the ordinal of the element of every cell, indexed by y * width + x, and
+   * the size of the map
+   * @param cells Ordinals of the elements of the cells
+   * @param width Number of columns
+   * @param height Number of rows
+   */
+  record PackedMap(byte[] cells, int width, int height) {}
+
+  /**
+   * Private constructor that makes impossible instantiate an object of the class
+   */
+  private MapLoader() {}
+
+  /**
+   * Reads a map file into packed cells. Binary maps (.lbm) are read by the BinaryMapFormat
+   * @param mapPath Path of the file
+   * @return The packed map
+   *
+   * @throws IOException In case the file can't be read
+   * @throws MapException In case the file is empty, a line is shorter than the first one or the
+   * file is too big to be indexed
+   */
+  static PackedMap load(Path mapPath) throws IOException {
+    if (BinaryMapFormat.isBinaryMap(mapPath)) {
+      return BinaryMapFormat.read(mapPath);
+    }
+
+    PackedMap packedMap;
+    try (FileChannel channel = FileChannel.open(mapPath, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new MapException();
+      }
+      packedMap = decodeAscii(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+
+    // Characters out of ASCII are decoded with the charset of the lines
+    return (packedMap != null) ? packedMap
+        : decodeLines(LabyrinthFileManager.readMapLines(mapPath));
+  }
+
+  /**
+   * Decodes the bytes of an ASCII map, in parallel if the file is big enough and its lines are
+   * regular
+   * @param buffer Bytes of the file
+   * @return The packed map, or null if a byte is out of ASCII
+   *
+   * @throws MapException In case the file is empty or a line is shorter than the first one
+   */
+  static PackedMap decodeAscii(ByteBuffer buffer) {
+    if (buffer.limit() >= PARALLEL_THRESHOLD) {
+      PackedMap packedMap = decodeAsciiInParallel(buffer);
+      if (packedMap != null) {
+        return packedMap;
+      }
+    }
+    return decodeAsciiSequentially(buffer);
+  }
+
+  /**
+   * Decodes the bytes of an ASCII map row by row
+   * @param buffer Bytes of the file
+   * @return The packed map, or null if a byte is out of ASCII
+   *
+   * @throws MapException In case the file is empty or a line is shorter than the first one
+   */
+  static PackedMap decodeAsciiSequentially(ByteBuffer buffer) {
+    int limit = buffer.limit();
+    if (limit == 0) {
+      throw new MapException();
+    }
+
+    // The width is the length of the first line
+    int width = getFirstLineLength(buffer);
+
+    // Every line but the last has a line break as long as the first one, so the rows can't be
+    // more than this. The cells are only copied again if a line is longer than the first one
+    int lineBreakLength = (width + 1 < limit && buffer.get(width) == '\r'
+        && buffer.get(width + 1) == '\n') ? 2 : 1;
+    long maxCells = (limit + lineBreakLength) / (width + lineBreakLength) * (long) width;
+    if (maxCells > Integer.MAX_VALUE) {
+      throw new MapException();
+    }
+    byte[] cells = new byte[(int) maxCells];
+
+    int rows = 0;
+    int position = 0;
+    int cell = 0;
+    while (position < limit) {
+
+      // The first width characters of the line are the cells of the row
+      if (cell + width > cells.length) {
+        cells = Arrays.copyOf(cells, Math.max(cells.length * 2, cell + width));
+      }
+      for (int lineEnd = position + width; position < lineEnd; position++) {
+        if (position >= limit) {
+          throw new MapException();
+        }
+        byte symbol = buffer.get(position);
+        if (symbol < 0) {
+          return null;
+        }
+        if (isLineBreak(symbol)) {
+          throw new MapException();
+        }
+        cells[cell++] = asciiOrdinals[symbol];
+      }
+
+      // The rest of a longer line is ignored
+      while (position < limit && !isLineBreak(buffer.get(position))) {
+        if (buffer.get(position) < 0) {
+          return null;
+        }
+        position++;
+      }
+
+      // Line break: "\r\n" counts as only one
+      if (position < limit && buffer.get(position++) == '\r' && position < limit
+          && buffer.get(position) == '\n') {
+        position++;
+      }
+      rows++;
+    }
+
+    return new PackedMap((cell == cells.length) ? cells : Arrays.copyOf(cells, cell), width,
+        rows);
+  }
+
+  /**
+   * Decodes the bytes of an ASCII map in parallel chunks of rows. It only works if every line is
+   * as long as the first one and ends with the same line break (the last one is optional), so
+   * the position of every row is known without reading the ones before it
+   * @param buffer Bytes of the file
+   * @return The packed map, or null if the lines are not regular or a byte is out of ASCII. In
+   * that case the map must be decoded sequentially
+   */
+  static PackedMap decodeAsciiInParallel(ByteBuffer buffer) {
+    int limit = buffer.limit();
+    int width = getFirstLineLength(buffer);
+    if (width == 0 || width == limit) {
+      return null;
+    }
+
+    // The line break of the first line is repeated after every row
+    byte[] lineBreak = (width + 1 < limit && buffer.get(width) == '\r'
+        && buffer.get(width + 1) == '\n') ? new byte[] {'\r', '\n'} : new byte[] {buffer.get(width)};
+    int stride = width + lineBreak.length;
+
+    // The last line break is optional
+    long rows = limit / stride + ((limit % stride == width) ? 1 : 0);
+    if ((limit % stride != 0 && limit % stride != width) || rows * width > Integer.MAX_VALUE) {
+      return null;
+    }
+
+    int rowCount = (int) rows;
+    byte[] cells = new byte[rowCount * width];
+    int chunks = Math.min(rowCount, ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+    int rowsPerChunk = (rowCount + chunks - 1) / chunks;
+
+    // Every chunk checks its rows while it decodes them
+    boolean regular = IntStream.range(0, chunks).parallel().allMatch(chunk -> decodeRows(buffer,
+        cells, width, lineBreak, chunk * rowsPerChunk,
+        Math.min((chunk + 1) * rowsPerChunk, rowCount)));
+
+    return regular ? new PackedMap(cells, width, rowCount) : null;
+  }
+
+  /**
+   * Decodes a range of rows of a regular ASCII map
+   * @param buffer Bytes of the file
+   * @param cells Cells of the map to fill
+   * @param width Length of every line without the line break
+   * @param lineBreak Line break after every row
+   * @param firstRow First row to decode
+   * @param lastRow Row after the last one to decode
+   * @return True if the rows are regular and have only ASCII characters
+   */
+  private static boolean decodeRows(ByteBuffer buffer, byte[] cells, int width, byte[] lineBreak,
+      int firstRow, int lastRow) {
+
+    int stride = width + lineBreak.length;
+    for (int row = firstRow; row < lastRow; row++) {
+      int position = row * stride;
+      int cell = row * width;
+
+      for (int j = 0; j < width; j++) {
+        byte symbol = buffer.get(position + j);
+        if (symbol < 0 || isLineBreak(symbol)) {
+          return false;
+        }
+        cells[cell + j] = asciiOrdinals[symbol];
+      }
+
+      // The line break must be the same as the first one, except after the last line
+      for (int j = 0; j < lineBreak.length && position + width + j < buffer.limit(); j++) {
+        if (buffer.get(position + width + j) != lineBreak[j]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Decodes the lines of a map
+   * @param lines Lines of the map
+   * @return The packed map
+   *
+   * @throws MapException In case there are no lines or a line is shorter than the first one
+   */
+  static PackedMap decodeLines(List<String> lines) {
+    if (lines.isEmpty()) {
+      throw new MapException();
+    }
+
+    int rows = lines.size();
+    int columns = lines.get(0).length();
+    byte[] cells = new byte[rows * columns];
+
+    // Reading all the lines to fill the cells, row by row
+    for (int i = 0; i < rows; i++) {
+      String line = lines.get(i);
+      if (line.length() < columns) {
+        throw new MapException();
+      }
+      for (int j = 0; j < columns; j++) {
+        cells[i * columns + j] = (byte) Element.fromSymbol(line.charAt(j)).ordinal();
+      }
+    }
+    return new PackedMap(cells, columns, rows);
+  }
+
+  /**
+   * Gets the length of the first line of a file, without the line break
+   * @param buffer Bytes of the file
+   * @return The number of bytes before the first line break
+   */
+  private static int getFirstLineLength(ByteBuffer buffer) {
+    int length = 0;
+    while (length < buffer.limit() && !isLineBreak(buffer.get(length))) {
+      length++;
+    }
+    return length;
+  }
+
+  /**
+   * Checks if a byte is a line break
+   * @param symbol Byte of the file
+   * @return True if it's '\n' or '\r'
+   */
+  private static boolean isLineBreak(byte symbol) {
+    return symbol == '\n' || symbol == '\r';
+  }
+
+}
@@ -0,0 +1,401 @@
+package app.labyrinth.model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Generator of mazes in the same ASCII format as the map of the game: '+' for the corners of the
+ * walls, '-' and '|' for the walls, ' ' for the squares the player can go through, 'P' for the
+ * player in the top left room and 'F' for the end in the bottom right one.
+ *
+ * The mazes are written line by line while they are generated, so only a few lines are kept in
+ * memory and mazes of 20000x20000 squares can be written without holding the whole grid. The same
+ * seed, type and size always give the same maze
+ */
+public class MazeGenerator {
+
+  /**
+   * Kind of maze generated
+   */
+  public enum MazeType {
+    /**
+     * Maze with exactly one way between every two rooms, without loops
+     */
+    PERFECT,
+    /**
+     * Perfect maze with some walls removed, so there are loops and more than one way to the end
+     */
+    BRAIDED,
+    /**
+     * Big rooms separated by walls with one door between every two rooms
+     */
+    OPEN_ROOMS
+  }
+
+  /**
+   * Minimum number of squares per side: the outer walls and two rooms with a wall between them.
+   * With one room the player and the end would be in the same square
+   */
+  public static final int MIN_SIZE = 5;
+
+  /**
+   * Probability of removing a wall of a perfect maze to make a braided one
+   */
+  private static final double BRAID_PROBABILITY = 0.1;
+
+  /**
+   * Distance between the walls of the open rooms
+   */
+  private static final int ROOM_SIZE = 12;
+
+  /**
+   * Kind of maze generated
+   */
+  private final MazeType type;
+
+  /**
+   * Seed of the random numbers of the maze
+   */
+  private final long seed;
+
+  /**
+   * Random numbers of the maze being generated
+   */
+  private Random random;
+
+
+  /**
+   * Constructor of the class
+   * @param type Kind of maze generated
+   * @param seed Seed of the random numbers, so the mazes can be generated again
+   */
+  public MazeGenerator(MazeType type, long seed) {
+    this.type = type;
+    this.seed = seed;
+  }
+
+  /**
+   * Generates a maze and writes it in a file. If the file already exists, it gets overwritten
+   * @param mapPath Path of the file to write
+   * @param width Number of squares per line, including the outer walls
+   * @param height Number of lines, including the outer walls
+   *
+   * @throws IOException In case any problem occurs writing the file
+   * @throws MapException In case the size is lesser than MIN_SIZE
+   */
+  public void writeMaze(Path mapPath, int width, int height) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(mapPath)) {
+      writeMaze(writer, width, height);
+    }
+  }
+
+  /**
+   * Generates a maze and writes it line by line
+   * @param writer Writer where the lines are written. It's not closed
+   * @param width Number of squares per line, including the outer walls
+   * @param height Number of lines, including the outer walls
+   *
+   * @throws IOException In case any problem occurs writing the lines
+   * @throws MapException In case the size is lesser than MIN_SIZE
+   */
+  public void writeMaze(Writer writer, int width, int height) throws IOException {
+    if (width < MIN_SIZE || height < MIN_SIZE) {
+      throw new MapException();
+    }
+
+    // Every maze starts from the seed, so writing it again gives the same maze
+    random = new Random(seed);
+
+    if (type == MazeType.OPEN_ROOMS) {
+      writeOpenRooms(writer, width, height);
+    } else {
+      writeRoomMaze(writer, width, height, type == MazeType.BRAIDED ? BRAID_PROBABILITY : 0);
+    }
+  }
+
+  /**
+   * Writes a maze made of rooms in the odd positions and walls in the even ones, with Eller's
+   * algorithm: the rooms are joined row by row, keeping in which set of connected rooms is every
+   * room of the current row. It builds the same kind of maze as Kruskal's algorithm, but only one
+   * row of rooms is kept in memory. If the width or the height is even, the last column or line
+   * is an extra wall
+   * @param writer Writer where the lines are written
+   * @param width Number of squares per line
+   * @param height Number of lines
+   * @param braidProbability Probability of removing a wall that the perfect maze keeps
+   *
+   * @throws IOException In case any problem occurs writing the lines
+   */
+  private void writeRoomMaze(Writer writer, int width, int height, double braidProbability)
+      throws IOException {
+
+    int columns = (width - 1) / 2;
+    int rows = (height - 1) / 2;
+
+    // Set of every room of the row. Sets are labelled from 0 to 2 * columns - 1, and joined sets
+    // are kept in a union-find structure that is flattened after every row
+    int[] sets = new int[columns];
+    int[] parents = new int[2 * columns];
+    boolean[] usedLabels = new boolean[2 * columns];
+    boolean[] rightOpenings = new boolean[columns];
+    boolean[] downOpenings = new boolean[columns];
+
+    // Last room of every set in the row and whether the set goes down
+    int[] lastRoomOfSet = new int[2 * columns];
+    boolean[] setGoesDown = new boolean[2 * columns];
+
+    char[] line = new char[width];
+
+    // Top wall
+    writeWallLine(writer, line, null);
+
+    Arrays.fill(sets, -1);
+    for (int row = 0; row < rows; row++) {
+      boolean lastRow = row == rows - 1;
+
+      // Rooms not connected with the previous row start in a new set
+      Arrays.fill(usedLabels, false);
+      for (int set : sets) {
+        if (set != -1) {
+          usedLabels[set] = true;
+        }
+      }
+      int freeLabel = 0;
+      for (int column = 0; column < columns; column++) {
+        if (sets[column] == -1) {
+          while (usedLabels[freeLabel]) {
+            freeLabel++;
+          }
+          usedLabels[freeLabel] = true;
+          sets[column] = freeLabel;
+        }
+        parents[sets[column]] = sets[column];
+      }
+
+      // Joins rooms of different sets at random. The last row joins all of them
+      for (int column = 0; column < columns - 1; column++) {
+        int set = find(parents, sets[column]);
+        int nextSet = find(parents, sets[column + 1]);
+        boolean join = set != nextSet && (lastRow || random.nextBoolean());
+        if (join) {
+          parents[nextSet] = set;
+        }
+        rightOpenings[column] = join || random.nextDouble() < braidProbability;
+      }
+      rightOpenings[columns - 1] = false;
+
+      for (int column = 0; column < columns; column++) {
+        sets[column] = find(parents, sets[column]);
+      }
+
+      // Every set goes down at least once, so no room gets isolated. The last row doesn't go down
+      Arrays.fill(setGoesDown, false);
+      for (int column = 0; column < columns; column++) {
+        downOpenings[column] = !lastRow && random.nextBoolean();
+        lastRoomOfSet[sets[column]] = column;
+        setGoesDown[sets[column]] |= downOpenings[column];
+      }
+      for (int column = 0; column < columns && !lastRow; column++) {
+        if (!setGoesDown[sets[column]] && lastRoomOfSet[sets[column]] == column) {
+          downOpenings[column] = true;
+        }
+      }
+
+      writeRoomLine(writer, line, rightOpenings, row == 0, lastRow);
+
+      // The rooms going down keep their set in the next row
+      for (int column = 0; column < columns; column++) {
+        if (!downOpenings[column]) {
+          downOpenings[column] = !lastRow && random.nextDouble() < braidProbability;
+          sets[column] = -1;
+        }
+      }
+      writeWallLine(writer, line, downOpenings);
+    }
+
+    // Extra line when the height is even
+    if (height % 2 == 0) {
+      writeWallLine(writer, line, null);
+    }
+  }
+
+  /**
+   * Finds the label that represents a set, compressing the way to it
+   * @param parents Parent of every label of the union-find structure
+   * @param label Label to find
+   * @return The label that represents the set
+   */
+  private static int find(int[] parents, int label) {
+    while (parents[label] != label) {
+      parents[label] = parents[parents[label]];
+      label = parents[label];
+    }
+    return label;
+  }
+
+  /**
+   * Writes a line of rooms
+   * @param writer Writer where the line is written
+   * @param line Buffer of the line
+   * @param rightOpenings Whether every room is open to the room on its right
+   * @param firstRow Whether it's the first row, where the player is
+   * @param lastRow Whether it's the last row, where the end is
+   *
+   * @throws IOException In case any problem occurs writing the line
+   */
+  private void writeRoomLine(Writer writer, char[] line, boolean[] rightOpenings,
+      boolean firstRow, boolean lastRow) throws IOException {
+
+    Arrays.fill(line, '|');
+    for (int column = 0; column < rightOpenings.length; column++) {
+      line[2 * column + 1] = ' ';
+      line[2 * column + 2] = rightOpenings[column] ? ' ' : '|';
+    }
+
+    if (firstRow) {
+      line[1] = Element.PLAYER.getRepresentation()[0];
+    }
+    if (lastRow) {
+      line[2 * rightOpenings.length - 1] = Element.END.getRepresentation()[0];
+    }
+    writeLine(writer, line);
+  }
+
+  /**
+   * Writes a line of walls between two rows of rooms
+   * @param writer Writer where the line is written
+   * @param line Buffer of the line
+   * @param downOpenings Whether every room of the row above is open to the room below it. Null
+   * if all of them are closed
+   *
+   * @throws IOException In case any problem occurs writing the line
+   */
+  private void writeWallLine(Writer writer, char[] line, boolean[] downOpenings)
+      throws IOException {
+
+    for (int x = 0; x < line.length; x++) {
+      line[x] = (x % 2 == 0 || x == line.length - 1) ? '+' : '-';
+    }
+    for (int column = 0; downOpenings != null && column < downOpenings.length; column++) {
+      line[2 * column + 1] = downOpenings[column] ? ' ' : '-';
+    }
+    writeLine(writer, line);
+  }
+
+  /**
+   * Writes big rooms separated by walls every ROOM_SIZE squares. Every piece of wall between two
+   * crossings has one door, so every room is connected with the rooms around it
+   * @param writer Writer where the lines are written
+   * @param width Number of squares per line
+   * @param height Number of lines
+   *
+   * @throws IOException In case any problem occurs writing the lines
+   */
+  private void writeOpenRooms(Writer writer, int width, int height) throws IOException {
+
+    // Door of every vertical wall in the current band of rooms
+    int[] verticalDoors = new int[width];
+    char[] line = new char[width];
+
+    for (int y = 0; y < height; y++) {
+      boolean border = y == 0 || y == height - 1;
+      boolean horizontalWall = isWallLine(y, height);
+
+      if (border || horizontalWall) {
+        writeHorizontalWall(line, border);
+
+        // A new band of rooms starts below the wall
+        if (!border) {
+          chooseVerticalDoors(verticalDoors, y, height);
+        }
+      } else {
+        if (y == 1) {
+          chooseVerticalDoors(verticalDoors, 0, height);
+        }
+        for (int x = 0; x < width; x++) {
+          boolean verticalWall = x == 0 || x == width - 1
+              || (isWallLine(x, width) && verticalDoors[x] != y);
+          line[x] = verticalWall ? '|' : ' ';
+        }
+      }
+
+      if (y == 1) {
+        line[1] = Element.PLAYER.getRepresentation()[0];
+      }
+      if (y == height - 2) {
+        line[width - 2] = Element.END.getRepresentation()[0];
+      }
+      writeLine(writer, line);
+    }
+  }
+
+  /**
+   * Checks if there is an inner wall of the open rooms in a position. The walls are kept two
+   * squares away from the last border, so the end is never in a wall
+   * @param position Horizontal or vertical position
+   * @param size Width or height of the maze
+   * @return True if there is a wall line in the position
+   */
+  private static boolean isWallLine(int position, int size) {
+    return position > 0 && position % ROOM_SIZE == 0 && position <= size - 3;
+  }
+
+  /**
+   * Fills a line with a horizontal wall of the open rooms, with one door between every two
+   * vertical walls
+   * @param line Buffer of the line
+   * @param border Whether it's the top or the bottom border, which has no doors
+   */
+  private void writeHorizontalWall(char[] line, boolean border) {
+    int start = 0;
+    for (int x = 0; x < line.length; x++) {
+      boolean crossing = x == 0 || x == line.length - 1 || isWallLine(x, line.length);
+      line[x] = crossing ? '+' : '-';
+
+      // Opens a door between the last crossing and this one
+      if (crossing && x > 0 && !border) {
+        line[start + 1 + random.nextInt(x - start - 1)] = ' ';
+      }
+      start = crossing ? x : start;
+    }
+  }
+
+  /**
+   * Chooses the door of every vertical wall in the band of rooms below a horizontal wall
+   * @param verticalDoors Array to fill with the vertical position of the door of every wall
+   * @param wallLine Vertical position of the horizontal wall above the band
+   * @param height Height of the maze
+   */
+  private void chooseVerticalDoors(int[] verticalDoors, int wallLine, int height) {
+    // The band ends in the next wall or in the bottom border
+    int bandEnd = wallLine + 1;
+    while (bandEnd < height - 1 && !isWallLine(bandEnd, height)) {
+      bandEnd++;
+    }
+    for (int x = 0; x < verticalDoors.length; x++) {
+      if (isWallLine(x, verticalDoors.length)) {
+        verticalDoors[x] = wallLine + 1 + random.nextInt(bandEnd - wallLine - 1);
+      }
+    }
+  }
+
+  /**
+   * Writes a line and the line break
+   * @param writer Writer where the line is written
+   * @param line Characters of the line
+   *
+   * @throws IOException In case any problem occurs writing the line
+   */
+  private static void writeLine(Writer writer, char[] line) throws IOException {
+    writer.write(line);
+    writer.write('\n');
+  }
+
+}
@@ -0,0 +1,123 @@
+package app.labyrinth.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Solver of the routes of all the players of a map at once. Instead of a search per player, the
+ * {@link DistanceField} of the map is found with one search from the end, and every player
+ * follows it. So the cost of the search is paid once, and every player only costs the squares of
+ * its route. The routes have the least squares, as the ones of the {@link BreadthFirstStrategy}
+ */
+public class MultiPlayerSolver {
+
+  /**
+   * Route of one player
+   * @param player Coordinate of the player
+   * @param route Coordinates from the player to the end, both included. Empty if the player can't
+   * reach the end
+   * @param timeSpent Time spent by the player following the route. 0 if it can't reach the end
+   */
+  public record PlayerRoute(Coordinate player, List<Coordinate> route, double timeSpent) {
+
+    /**
+     * Checks if the player reaches the end
+     * @return True if the player has a route to the end
+     */
+    public boolean isReached() {
+      return !route.isEmpty();
+    }
+  }
+
+  /**
+   * Routes of all the players of a map, with the time spent calculating them
+   * @param routes Route of every player, in the order of their cells
+   * @param searchNanos Time spent in the search shared by all the players, in ns (nanoseconds)
+   * @param routesNanos Time spent following the search to get the route of every player, in ns
+   */
+  public record Report(List<PlayerRoute> routes, long searchNanos, long routesNanos) {
+
+    /**
+     * Gets the number of players that reach the end
+     * @return The number of players with a route
+     */
+    public int getReachedCount() {
+      return (int) routes.stream().filter(PlayerRoute::isReached).count();
+    }
+
+    /**
+     * Gets the time spent by the slowest player to reach the end
+     * @return The longest time spent following a route. 0 if no player reaches the end
+     */
+    public double getMaxTimeSpent() {
+      return routes.stream().mapToDouble(PlayerRoute::timeSpent).max().orElse(0);
+    }
+
+    /**
+     * Gets the average time spent by the players that reach the end
+     * @return The average time spent following the routes. 0 if no player reaches the end
+     */
+    public double getAverageTimeSpent() {
+      return routes.stream().filter(PlayerRoute::isReached).mapToDouble(PlayerRoute::timeSpent)
+          .average().orElse(0);
+    }
+
+    /**
+     * Gets the total time spent calculating all the routes
+     * @return The time of the search and of the routes, in ns (nanoseconds)
+     */
+    public long getTotalNanos() {
+      return searchNanos + routesNanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "%d of %d players reach the end. Time spent: max %.1f, "
+          + "average %.1f. Calculated in %d ns (search %d ns, routes %d ns)", getReachedCount(),
+          routes.size(), getMaxTimeSpent(), getAverageTimeSpent(), getTotalNanos(), searchNanos,
+          routesNanos);
+    }
+  }
+
+
+  /**
+   * Calculates the routes of all the players of the map to the end
+   * @param map Map of the labyrinth
+   * @return The routes of the players and the time spent calculating them
+   *
+   * @throws MapException If the map has no end
+   */
+  public Report solve(LabyrinthMap map) {
+    long searchStart = System.nanoTime();
+    DistanceField distanceField = map.getDistanceField();
+    long routesStart = System.nanoTime();
+
+    int[] players = map.getIndexesOfElement(Element.PLAYER);
+    List<PlayerRoute> routes = new ArrayList<>(players.length);
+    RouteCostEvaluator evaluator = new RouteCostEvaluator();
+
+    for (int player : players) {
+      Coordinate coordinate = map.getCoordinateOfIndex(player);
+      if (distanceField.getDistance(player) == DistanceField.UNREACHABLE) {
+        routes.add(new PlayerRoute(coordinate, Collections.emptyList(), 0));
+        continue;
+      }
+
+      List<Coordinate> route = distanceField.getRoute(player);
+      evaluator.reset();
+      for (Coordinate square : route) {
+        evaluator.append(square);
+      }
+      routes.add(new PlayerRoute(coordinate, route, evaluator.getTotalTime()));
+    }
+
+    long end = System.nanoTime();
+    return new Report(Collections.unmodifiableList(routes), routesStart - searchStart,
+        end - routesStart);
+  }
+
+}
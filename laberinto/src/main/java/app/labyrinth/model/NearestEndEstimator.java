@@ -0,0 +1,113 @@
+package app.labyrinth.model;
+
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Estimator of the distance from a cell to the nearest end of a map, used by the heuristics of
+ * the searches. The map can have several ends, and the search stops at the first one reached, so
+ * the estimate must be the smallest distance to any of them to never overestimate.
+ *
+ * Checking every end costs a bit in every cell expanded. With many ends the estimate of the
+ * optimal searches is always 0 instead, so the search is still a single one and it finds the best
+ * route, only with no guide. The searches that need the guide to find a good route, like the
+ * greedy one, can check every end
+ */
+final class NearestEndEstimator {
+
+  /**
+   * Default maximum number of ends checked in every estimate. With more ends, the estimate is 0
+   */
+  static final int MAX_ESTIMATED_ENDS = 16;
+
+  /**
+   * Distance between two cells from their horizontal and vertical distances
+   */
+  @FunctionalInterface
+  interface Metric {
+
+    /**
+     * Gets the distance between two cells
+     * @param dx Horizontal distance between the cells (never negative)
+     * @param dy Vertical distance between the cells (never negative)
+     * @return The distance. It must never be bigger than the real cost between the cells
+     */
+    int getDistance(int dx, int dy);
+  }
+
+  /**
+   * Map of the labyrinth
+   */
+  private final LabyrinthMap map;
+
+  /**
+   * Metric used to measure the distance to every end
+   */
+  private final Metric metric;
+
+  /**
+   * Horizontal positions of the ends. Empty if there are too many ends to check them
+   */
+  private final int[] endXs;
+
+  /**
+   * Vertical positions of the ends. Empty if there are too many ends to check them
+   */
+  private final int[] endYs;
+
+
+  /**
+   * Constructor of the class which checks up to MAX_ESTIMATED_ENDS ends
+   * @param map Map of the labyrinth
+   * @param metric Metric used to measure the distance to every end
+   *
+   * @throws MapException If the map has no end
+   */
+  NearestEndEstimator(LabyrinthMap map, Metric metric) {
+    this(map, metric, MAX_ESTIMATED_ENDS);
+  }
+
+  /**
+   * Constructor of the class
+   * @param map Map of the labyrinth
+   * @param metric Metric used to measure the distance to every end
+   * @param maxEstimatedEnds Maximum number of ends checked in every estimate. With more ends, the
+   * estimate is 0
+   *
+   * @throws MapException If the map has no end
+   */
+  NearestEndEstimator(LabyrinthMap map, Metric metric, int maxEstimatedEnds) {
+    this.map = map;
+    this.metric = metric;
+
+    int[] ends = map.getIndexesOfElement(Element.END);
+    if (ends.length == 0) {
+      throw new MapException();
+    }
+
+    int estimatedEnds = ends.length > maxEstimatedEnds ? 0 : ends.length;
+    endXs = new int[estimatedEnds];
+    endYs = new int[estimatedEnds];
+    for (int i = 0; i < estimatedEnds; i++) {
+      endXs[i] = map.getX(ends[i]);
+      endYs[i] = map.getY(ends[i]);
+    }
+  }
+
+  /**
+   * Estimates the distance from the cell to the nearest end
+   * @param cell Index of the cell
+   * @return The smallest distance to an end with the metric, or 0 if there are too many ends
+   */
+  int estimate(int cell) {
+    int x = map.getX(cell);
+    int y = map.getY(cell);
+
+    int nearest = endXs.length == 0 ? 0 : Integer.MAX_VALUE;
+    for (int i = 0; i < endXs.length; i++) {
+      nearest = Math.min(nearest,
+          metric.getDistance(Math.abs(x - endXs[i]), Math.abs(y - endYs[i])));
+    }
+    return nearest;
+  }
+
+}
@@ -0,0 +1,430 @@
+package app.labyrinth.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Grid of cells kept out of the heap, for maps too big for a {@link LabyrinthMap}. Every cell is a
+ * byte with the ordinal of its element, indexed by y * width + x with a long, so the map can have
+ * more than 2^31 cells. The bytes are split in segments of 1 GB, because a single buffer can't be
+ * bigger than 2 GB.
+ *
+ * The grid can be allocated in direct memory, or backed by a grid file (.lbg) mapped in memory.
+ * A grid file is a header with a magic number ("LBG" and 0x1A), the width and the height (all
+ * big endian), followed by the cells. As the file is mapped, the cells are shared with any other
+ * process that maps it, and the operating system loads them as they are read
+ */
+public final class OffHeapGrid {
+
+  /**
+   * Magic number at the beginning of every grid file: "LBG" and 0x1A
+   */
+  static final int MAGIC = 0x4C42471A;
+
+  /**
+   * Size in bytes of the header of the grid files: magic number, width and height
+   */
+  static final int HEADER_SIZE = Integer.BYTES + 2 * Long.BYTES;
+
+  /**
+   * Number of bits of the index of a cell inside its segment
+   */
+  private static final int SEGMENT_BITS = 30;
+
+  /**
+   * Number of cells of every segment, but the last one
+   */
+  private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+
+  /**
+   * Mask that gives the index of a cell inside its segment
+   */
+  private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+  /**
+   * All the elements indexed by their ordinal, used to decode the cells
+   */
+  private static final Element[] elements = Element.values();
+
+  /**
+   * Segments of bytes with the cells
+   */
+  private final ByteBuffer[] segments;
+
+  /**
+   * Number of columns of the grid
+   */
+  private final long width;
+
+  /**
+   * Number of rows of the grid
+   */
+  private final long height;
+
+
+  /**
+   * Constructor of the class
+   * @param segments Segments of bytes with the cells
+   * @param width Number of columns of the grid
+   * @param height Number of rows of the grid
+   */
+  private OffHeapGrid(ByteBuffer[] segments, long width, long height) {
+    this.segments = segments;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Allocates a grid in direct memory, out of the heap. All the cells are void squares
+   * @param width Number of columns of the grid
+   * @param height Number of rows of the grid
+   * @return The new grid
+   *
+   * @throws MapException In case a size is negative
+   */
+  public static OffHeapGrid allocate(long width, long height) {
+    OffHeapGrid grid = allocateBytes(width, height);
+    grid.fill(Element.VOID);
+    return grid;
+  }
+
+  /**
+   * Allocates a grid in direct memory with all the bytes set to 0, for the solvers that keep
+   * their own data of every cell
+   * @param width Number of columns of the grid
+   * @param height Number of rows of the grid
+   * @return The new grid
+   *
+   * @throws MapException In case a size is negative
+   */
+  static OffHeapGrid allocateBytes(long width, long height) {
+    long cellCount = getCellCount(width, height);
+    ByteBuffer[] segments = new ByteBuffer[getSegmentCount(cellCount)];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = ByteBuffer.allocateDirect((int) getSegmentLength(cellCount, i));
+    }
+    return new OffHeapGrid(segments, width, height);
+  }
+
+  /**
+   * Creates a grid file and maps it in memory. If the file already exists, it gets overwritten.
+   * All the cells are void squares
+   * @param gridPath Path of the grid file
+   * @param width Number of columns of the grid
+   * @param height Number of rows of the grid
+   * @return The grid backed by the file. The changes are written in the file
+   *
+   * @throws IOException In case the file can't be written
+   * @throws MapException In case a size is negative
+   */
+  public static OffHeapGrid create(Path gridPath, long width, long height) throws IOException {
+    long cellCount = getCellCount(width, height);
+
+    try (FileChannel channel = FileChannel.open(gridPath, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(width)
+          .putLong(height).flip();
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+
+      OffHeapGrid grid = new OffHeapGrid(mapSegments(channel, FileChannel.MapMode.READ_WRITE,
+          cellCount), width, height);
+      grid.fill(Element.VOID);
+      return grid;
+    }
+  }
+
+  /**
+   * Opens a grid file and maps it in memory, only to read it
+   * @param gridPath Path of the grid file
+   * @return The grid backed by the file. It can't be modified
+   *
+   * @throws IOException In case the file can't be read
+   * @throws MapException In case the file is not a grid file or its size is not the one of the
+   * header
+   */
+  public static OffHeapGrid open(Path gridPath) throws IOException {
+    try (FileChannel channel = FileChannel.open(gridPath, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        // Reads until the header is full or the file ends
+      }
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+        throw new MapException();
+      }
+
+      long width = header.getLong();
+      long height = header.getLong();
+      long cellCount = getCellCount(width, height);
+      if (channel.size() != HEADER_SIZE + cellCount) {
+        throw new MapException();
+      }
+      return new OffHeapGrid(mapSegments(channel, FileChannel.MapMode.READ_ONLY, cellCount),
+          width, height);
+    }
+  }
+
+  /**
+   * Converts a map made by ascii characters to a grid file, reading it line by line so the map
+   * never has to fit in the heap
+   * @param mapPath Path of the txt file that contains the map
+   * @param gridPath Path of the grid file to write
+   * @return The grid backed by the new file
+   *
+   * @throws IOException In case the map can't be read or the grid file can't be written
+   * @throws MapException In case the map is empty or a line is shorter than the first one
+   */
+  public static OffHeapGrid fromMapFile(Path mapPath, Path gridPath) throws IOException {
+    long width;
+    long height = 0;
+
+    // The size is needed before the cells, so the map is read twice
+    try (BufferedReader reader = Files.newBufferedReader(mapPath, StandardCharsets.UTF_8)) {
+      String line = reader.readLine();
+      if (line == null) {
+        throw new MapException();
+      }
+      width = line.length();
+      for (; line != null; line = reader.readLine()) {
+        height++;
+      }
+    }
+
+    OffHeapGrid grid = create(gridPath, width, height);
+    try (BufferedReader reader = Files.newBufferedReader(mapPath, StandardCharsets.UTF_8)) {
+      for (long y = 0; y < height; y++) {
+        String line = reader.readLine();
+        if (line.length() < width) {
+          throw new MapException();
+        }
+        for (int x = 0; x < width; x++) {
+          grid.setElementAt(grid.getIndex(x, y), Element.fromSymbol(line.charAt(x)));
+        }
+      }
+    }
+    grid.force();
+    return grid;
+  }
+
+  /**
+   * Gets the number of columns of the grid
+   * @return The width of the grid
+   */
+  public long getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the number of rows of the grid
+   * @return The height of the grid
+   */
+  public long getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the total number of cells of the grid
+   * @return The number of cells (width * height)
+   */
+  public long getCellCount() {
+    return width * height;
+  }
+
+  /**
+   * Gets the index of the cell of a position
+   * @param x Horizontal position
+   * @param y Vertical position
+   * @return The index of the cell (y * width + x)
+   */
+  public long getIndex(long x, long y) {
+    return y * width + x;
+  }
+
+  /**
+   * Gets the horizontal position of a cell
+   * @param index Index of the cell
+   * @return The horizontal position of the cell
+   */
+  public long getX(long index) {
+    return index % width;
+  }
+
+  /**
+   * Gets the vertical position of a cell
+   * @param index Index of the cell
+   * @return The vertical position of the cell
+   */
+  public long getY(long index) {
+    return index / width;
+  }
+
+  /**
+   * Gets the element of a cell
+   * @param index Index of the cell
+   * @return The element of the cell
+   *
+   * @throws IndexOutOfBoundsException If the index is outside the grid
+   */
+  public Element getElementAt(long index) {
+    return elements[getByte(index)];
+  }
+
+  /**
+   * Sets the element of a cell
+   * @param index Index of the cell
+   * @param element Element of the cell
+   *
+   * @throws IndexOutOfBoundsException If the index is outside the grid
+   * @throws java.nio.ReadOnlyBufferException If the grid was opened only to read it
+   */
+  public void setElementAt(long index, Element element) {
+    putByte(index, (byte) element.ordinal());
+  }
+
+  /**
+   * Checks if a cell is an obstacle
+   * @param index Index of the cell
+   * @return True if the cell has an obstacle
+   *
+   * @throws IndexOutOfBoundsException If the index is outside the grid
+   */
+  public boolean isObstacle(long index) {
+    return getByte(index) == Element.OBSTACLE.ordinal();
+  }
+
+  /**
+   * Finds the first cell with an element, going through the grid
+   * @param element Element searched
+   * @return The index of the first cell with the element, or -1 if there is no cell with it
+   */
+  public long findFirst(Element element) {
+    byte ordinal = (byte) element.ordinal();
+    for (int i = 0; i < segments.length; i++) {
+      ByteBuffer segment = segments[i];
+      for (int j = 0; j < segment.limit(); j++) {
+        if (segment.get(j) == ordinal) {
+          return ((long) i << SEGMENT_BITS) + j;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Writes the changes of a grid backed by a file in the file. It does nothing with a grid
+   * allocated in direct memory
+   */
+  public void force() {
+    for (ByteBuffer segment : segments) {
+      if (segment instanceof MappedByteBuffer mappedSegment && !segment.isReadOnly()) {
+        mappedSegment.force();
+      }
+    }
+  }
+
+  /**
+   * Gets the byte of a cell
+   * @param index Index of the cell
+   * @return The byte of the cell
+   *
+   * @throws IndexOutOfBoundsException If the index is outside the grid
+   */
+  byte getByte(long index) {
+    return segments[(int) (index >>> SEGMENT_BITS)].get((int) (index & SEGMENT_MASK));
+  }
+
+  /**
+   * Sets the byte of a cell. The grids used by the solvers to keep their own data use it to store
+   * values that are not elements
+   * @param index Index of the cell
+   * @param value Byte of the cell
+   *
+   * @throws IndexOutOfBoundsException If the index is outside the grid
+   */
+  void putByte(long index, byte value) {
+    segments[(int) (index >>> SEGMENT_BITS)].put((int) (index & SEGMENT_MASK), value);
+  }
+
+  /**
+   * Sets the same element in all the cells
+   * @param element Element of the cells
+   */
+  private void fill(Element element) {
+    byte[] block = new byte[8192];
+    Arrays.fill(block, (byte) element.ordinal());
+    for (ByteBuffer segment : segments) {
+      for (int position = 0; position < segment.limit(); position += block.length) {
+        segment.put(position, block, 0, Math.min(block.length, segment.limit() - position));
+      }
+    }
+  }
+
+  /**
+   * Maps the cells of a grid file in segments
+   * @param channel Channel of the file
+   * @param mode Mode of the mapping
+   * @param cellCount Number of cells of the grid
+   * @return The mapped segments
+   *
+   * @throws IOException In case the file can't be mapped
+   */
+  private static ByteBuffer[] mapSegments(FileChannel channel, FileChannel.MapMode mode,
+      long cellCount) throws IOException {
+
+    ByteBuffer[] segments = new ByteBuffer[getSegmentCount(cellCount)];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = channel.map(mode, HEADER_SIZE + ((long) i << SEGMENT_BITS),
+          getSegmentLength(cellCount, i));
+    }
+    return segments;
+  }
+
+  /**
+   * Gets the number of cells of a grid, checking its size
+   * @param width Number of columns
+   * @param height Number of rows
+   * @return The number of cells
+   *
+   * @throws MapException In case a size is negative or the number of cells is too big
+   */
+  private static long getCellCount(long width, long height) {
+    if (width < 0 || height < 0 || (width > 0 && height > Long.MAX_VALUE / width)) {
+      throw new MapException();
+    }
+    return width * height;
+  }
+
+  /**
+   * Gets the number of segments needed for a number of cells
+   * @param cellCount Number of cells
+   * @return The number of segments
+   */
+  private static int getSegmentCount(long cellCount) {
+    return (int) ((cellCount + SEGMENT_SIZE - 1) >>> SEGMENT_BITS);
+  }
+
+  /**
+   * Gets the number of cells of a segment
+   * @param cellCount Number of cells of the grid
+   * @param segment Number of the segment
+   * @return The number of cells of the segment
+   */
+  private static long getSegmentLength(long cellCount, int segment) {
+    return Math.min(SEGMENT_SIZE, cellCount - ((long) segment << SEGMENT_BITS));
+  }
+
+}
@@ -0,0 +1,185 @@
+package app.labyrinth.model;
+
+import java.util.Arrays;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Breadth first solver for the maps kept in an {@link OffHeapGrid}, which can have more than 2^31
+ * cells. It explores the same way as the {@link BreadthFirstStrategy}, so it finds the same route,
+ * but the direction from which every cell is reached is kept in another grid out of the heap. Only
+ * the cells waiting to be explored and the route are kept in the heap
+ */
+public class OffHeapRouteSolver {
+
+  /**
+   * All the directions the player can move, indexed by their ordinal
+   */
+  private static final MovementDirection[] directions = MovementDirection.values();
+
+  /**
+   * Initial capacity of the queue of cells waiting to be explored
+   */
+  private static final int INITIAL_QUEUE_CAPACITY = 1024;
+
+  /**
+   * Maximum number of cells of a route, the biggest length of an array the JVMs allocate
+   */
+  private static final int MAX_ROUTE_LENGTH = Integer.MAX_VALUE - 8;
+
+
+  /**
+   * Calculates the route from the player to the end of the grid
+   * @param grid Grid of the labyrinth
+   * @return The indexes of the cells from the player to the end, both included
+   *
+   * @throws MapException If the grid has no player or no end
+   * @throws GameException If there is no route to the end
+   * @throws IllegalStateException If the route has more cells than an array can keep
+   */
+  public long[] calculateRoute(OffHeapGrid grid) {
+    return calculateRoute(grid, new SolverStatistics());
+  }
+
+  /**
+   * Calculates the route from the player to the end of the grid, adding the time of every phase
+   * and the work done to the statistics
+   * @param grid Grid of the labyrinth
+   * @param statistics Statistics of the calculation. The solver adds to the values it has
+   * @return The indexes of the cells from the player to the end, both included
+   *
+   * @throws MapException If the grid has no player or no end
+   * @throws GameException If there is no route to the end
+   * @throws IllegalStateException If the route has more cells than an array can keep
+   */
+  public long[] calculateRoute(OffHeapGrid grid, SolverStatistics statistics) {
+
+    long phaseStart = SolverStatistics.startPhase();
+    long start = grid.findFirst(Element.PLAYER);
+    long end = grid.findFirst(Element.END);
+    if (start == -1 || end == -1) {
+      throw new MapException();
+    }
+
+    // Ordinal + 1 of the direction followed to reach every cell. 0 if it's not reached yet
+    OffHeapGrid reachedFrom = OffHeapGrid.allocateBytes(grid.getWidth(), grid.getHeight());
+    reachedFrom.putByte(start, (byte) (directions.length + 1));
+
+    // Ring of the cells waiting to be explored, which grows when it's full
+    long[] queue = new long[INITIAL_QUEUE_CAPACITY];
+    int head = 0;
+    int size = 0;
+    queue[size++] = start;
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    try {
+      while (size > 0) {
+        long cell = queue[head];
+        head = (head + 1) % queue.length;
+        size--;
+        statistics.addNodeExpanded();
+
+        long x = grid.getX(cell);
+        long y = grid.getY(cell);
+        for (MovementDirection direction : directions) {
+          long nextX = x + direction.getXMovement();
+          long nextY = y + direction.getYMovement();
+          if (nextX < 0 || nextY < 0 || nextX >= grid.getWidth() || nextY >= grid.getHeight()) {
+            continue;
+          }
+
+          long next = grid.getIndex(nextX, nextY);
+          if (grid.isObstacle(next)) {
+            continue;
+          }
+          statistics.addNeighbourChecks(1);
+          if (reachedFrom.getByte(next) != 0) {
+            continue;
+          }
+
+          reachedFrom.putByte(next, (byte) (direction.ordinal() + 1));
+          if (grid.getElementAt(next) == Element.END) {
+            long[] route = getRoute(grid, reachedFrom, start, next);
+            statistics.updatePeakRouteLength(route.length);
+            return route;
+          }
+
+          if (size == queue.length) {
+            queue = grow(queue, head);
+            head = 0;
+          }
+          queue[(head + size++) % queue.length] = next;
+        }
+      }
+
+      // There is no way to reach the end
+      throw new GameException();
+
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+
+  /**
+   * Gets the route to the end going back through the directions followed to reach every cell
+   * @param grid Grid of the labyrinth
+   * @param reachedFrom Ordinal + 1 of the direction followed to reach every cell
+   * @param start Index of the player
+   * @param end Index of the end
+   * @return The indexes of the cells from the player to the end, both included
+   *
+   * @throws IllegalStateException If the route has more cells than an array can keep
+   */
+  private static long[] getRoute(OffHeapGrid grid, OffHeapGrid reachedFrom, long start,
+      long end) {
+
+    // The route is measured first, so it's kept in an array of its exact length. The cells of the
+    // grid are counted with longs, so the route can be longer than an array
+    long length = 1;
+    for (long cell = end; cell != start; cell = getPreviousCell(grid, reachedFrom, cell)) {
+      length++;
+    }
+    if (length > MAX_ROUTE_LENGTH) {
+      throw new IllegalStateException("The route has " + length + " cells, more than the "
+          + MAX_ROUTE_LENGTH + " an array can keep");
+    }
+
+    long[] route = new long[(int) length];
+    long cell = end;
+    for (int i = route.length - 1; i >= 0; i--) {
+      route[i] = cell;
+      if (i > 0) {
+        cell = getPreviousCell(grid, reachedFrom, cell);
+      }
+    }
+    return route;
+  }
+
+  /**
+   * Gets the cell from which a cell was reached
+   * @param grid Grid of the labyrinth
+   * @param reachedFrom Ordinal + 1 of the direction followed to reach every cell
+   * @param cell Index of the cell
+   * @return The index of the previous cell
+   */
+  private static long getPreviousCell(OffHeapGrid grid, OffHeapGrid reachedFrom, long cell) {
+    MovementDirection direction = directions[reachedFrom.getByte(cell) - 1];
+    return grid.getIndex(grid.getX(cell) - direction.getXMovement(),
+        grid.getY(cell) - direction.getYMovement());
+  }
+
+  /**
+   * Doubles the capacity of a full ring of cells, putting its first cell at the beginning
+   * @param queue Full ring of cells
+   * @param head Position of the first cell in the ring
+   * @return The new ring
+   */
+  private static long[] grow(long[] queue, int head) {
+    long[] grown = Arrays.copyOfRange(queue, head, head + queue.length * 2);
+    System.arraycopy(queue, 0, grown, queue.length - head, head);
+    return grown;
+  }
+
+}
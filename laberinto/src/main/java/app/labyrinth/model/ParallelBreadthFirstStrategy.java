@@ -0,0 +1,281 @@
+package app.labyrinth.model;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Breadth first strategy that expands every level of the search in parallel. The cells of a level
+ * are split between the threads of a ForkJoinPool, and every cell reached is claimed in a bitset
+ * of atomic words (one bit per cell index), so only the thread that claims a cell queues it and
+ * sets its parent. The next level is only started when the whole level is expanded, so the route
+ * found has the least squares, the same length as the one of the {@link BreadthFirstStrategy}.
+ *
+ * The levels are kept one after another in a single queue, as in the sequential search. Every task
+ * collects the cells it reaches apart and copies them to the queue at once, so the threads only
+ * meet once per task. The small levels are expanded by the calling thread alone
+ */
+public class ParallelBreadthFirstStrategy implements RouteStrategy {
+
+  /**
+   * Default number of cells of a level expanded by every task
+   */
+  public static final int DEFAULT_LEAF_SIZE = 2048;
+
+  /**
+   * Number of directions the player can move to, the most cells reached from a cell
+   */
+  private static final int DIRECTIONS = MovementDirection.values().length;
+
+  /**
+   * Pool whose threads expand the levels
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * Number of cells of a level expanded by every task. Smaller levels aren't split
+   */
+  private final int leafSize;
+
+  /**
+   * Search shared by the tasks that expand its levels
+   */
+  private static class Search {
+
+    /**
+     * Map of the labyrinth
+     */
+    private final LabyrinthMap map;
+
+    /**
+     * Cells already reached, one bit per cell
+     */
+    private final AtomicLongArray visited;
+
+    /**
+     * Cell from which every cell is reached. Only written by the thread that claims the cell
+     */
+    private final int[] parents;
+
+    /**
+     * Cells of every level, one level after the other
+     */
+    private final int[] queue;
+
+    /**
+     * Position after the last cell queued
+     */
+    private final AtomicInteger tail = new AtomicInteger();
+
+    /**
+     * First end reached, or -1 if no end has been reached yet
+     */
+    private final AtomicInteger end = new AtomicInteger(-1);
+
+    /**
+     * Neighbours looked at by all the threads
+     */
+    private final LongAdder neighbourChecks = new LongAdder();
+
+    /**
+     * Buffer of every thread where the cells reached by a task are collected
+     */
+    private final ThreadLocal<int[]> buffers;
+
+    /**
+     * Constructor of the class
+     * @param map Map of the labyrinth
+     * @param leafSize Number of cells expanded by every task
+     */
+    private Search(LabyrinthMap map, int leafSize) {
+      this.map = map;
+      visited = new AtomicLongArray((map.getCellCount() + Long.SIZE - 1) / Long.SIZE);
+      parents = new int[map.getCellCount()];
+      queue = new int[map.getPassableCellCount()];
+      buffers = ThreadLocal.withInitial(() -> new int[leafSize * DIRECTIONS]);
+    }
+
+    /**
+     * Claims a cell, setting its bit if no thread has set it before
+     * @param cell Index of the cell
+     * @return True if this call set the bit, false if the cell was already reached
+     */
+    private boolean claim(int cell) {
+      int word = cell >>> 6;
+      long bit = 1L << cell;
+
+      long current = visited.get(word);
+      while ((current & bit) == 0) {
+        long witness = visited.compareAndExchange(word, current, current | bit);
+        if (witness == current) {
+          return true;
+        }
+        current = witness;
+      }
+      return false;
+    }
+
+    /**
+     * Expands the cells of the queue between two positions, queueing the neighbours claimed
+     * @param from Position of the first cell to expand
+     * @param to Position after the last cell to expand
+     */
+    private void expand(int from, int to) {
+      int[] buffer = buffers.get();
+      int count = 0;
+      long checks = 0;
+
+      for (int i = from; i < to; i++) {
+        int cell = queue[i];
+        int passableMask = map.getPassableMask(cell);
+        checks += Integer.bitCount(passableMask);
+
+        // Every set bit of the mask is a direction without obstacle
+        for (int mask = passableMask; mask != 0; mask &= mask - 1) {
+          int next = cell + map.getNeighbourOffset(Integer.numberOfTrailingZeros(mask));
+          if (claim(next)) {
+            parents[next] = cell;
+            buffer[count++] = next;
+            if (map.isEnd(next)) {
+              end.compareAndSet(-1, next);
+            }
+          }
+        }
+      }
+
+      System.arraycopy(buffer, 0, queue, tail.getAndAdd(count), count);
+      neighbourChecks.add(checks);
+    }
+  }
+
+  /**
+   * Task that expands a part of a level, splitting it in halves until it's small enough
+   */
+  private class LevelTask extends RecursiveAction {
+
+    /**
+     * Serial number of the class
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Search whose level is expanded
+     */
+    private final transient Search search;
+
+    /**
+     * Position of the first cell to expand in the queue
+     */
+    private final int from;
+
+    /**
+     * Position after the last cell to expand in the queue
+     */
+    private final int to;
+
+    /**
+     * Constructor of the class
+     * @param search Search whose level is expanded
+     * @param from Position of the first cell to expand in the queue
+     * @param to Position after the last cell to expand in the queue
+     */
+    private LevelTask(Search search, int from, int to) {
+      this.search = search;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= leafSize) {
+        search.expand(from, to);
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new LevelTask(search, from, middle), new LevelTask(search, middle, to));
+      }
+    }
+  }
+
+
+  /**
+   * Constructor of the class which uses the common pool and the default leaf size
+   */
+  public ParallelBreadthFirstStrategy() {
+    this(ForkJoinPool.commonPool(), DEFAULT_LEAF_SIZE);
+  }
+
+  /**
+   * Constructor of the class
+   * @param pool Pool whose threads expand the levels
+   * @param leafSize Number of cells of a level expanded by every task, at least 1. The levels
+   * with less cells are expanded by the calling thread
+   *
+   * @throws IllegalArgumentException If the pool is null or the leaf size is lesser than 1
+   */
+  public ParallelBreadthFirstStrategy(ForkJoinPool pool, int leafSize) {
+    if (pool == null) {
+      throw new IllegalArgumentException("The pool can't be null");
+    }
+
+    // A level can't be split in tasks of less than one cell
+    if (leafSize < 1) {
+      throw new IllegalArgumentException("The leaf size must be at least 1: " + leafSize);
+    }
+    this.pool = pool;
+    this.leafSize = leafSize;
+  }
+
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+
+    long phaseStart = SolverStatistics.startPhase();
+    int start = map.getIndexOfElement(Element.PLAYER);
+
+    // Any of the ends finishes the search
+    map.requireElement(Element.END);
+
+    Search search = new Search(map, leafSize);
+    search.claim(start);
+    search.queue[search.tail.getAndIncrement()] = start;
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    try {
+      int head = 0;
+      while (head < search.tail.get()) {
+
+        // The whole level is expanded before looking at the next one
+        int levelEnd = search.tail.get();
+        if (levelEnd - head <= leafSize) {
+          search.expand(head, levelEnd);
+        } else {
+          pool.invoke(new LevelTask(search, head, levelEnd));
+        }
+        statistics.addNodesExpanded(levelEnd - head);
+        statistics.addNeighbourChecks((int) search.neighbourChecks.sumThenReset());
+
+        // Every end of the level is as near as the others, so the first one claimed is kept
+        int end = search.end.get();
+        if (end != -1) {
+          List<Coordinate> route = RouteUtils.getRouteFromParents(map, search.parents, start,
+              end);
+          statistics.updatePeakRouteLength(route.size());
+          return route;
+        }
+        head = levelEnd;
+      }
+
+      // There is no way to reach the end
+      throw new GameException();
+
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+
+}
@@ -0,0 +1,203 @@
+package app.labyrinth.model;
+
+import java.util.Arrays;
+
+/**
+ * States reached by a search over (position, heading, straight movements), with the best time
+ * found for every one and the state it comes from. Only the states actually reached are kept, in
+ * a hash table from the number of the state to a sequential id, so the memory depends on the
+ * search instead of on the size of the map. The numbers of the states are longs, so they don't
+ * overflow in the biggest maps.
+ *
+ * The ids are small ints, so they can be kept in an IntMinHeap while the states are searched
+ */
+final class ReachedStates {
+
+  /**
+   * Id of the parent of the first states of a search
+   */
+  static final int NONE = -1;
+
+  /**
+   * Value of the empty positions of the hash table
+   */
+  private static final long EMPTY = -1;
+
+  /**
+   * Number of states kept before growing the first time
+   */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /**
+   * Number of the state kept in every position of the hash table, or EMPTY
+   */
+  private long[] slotStates;
+
+  /**
+   * Id of the state kept in every position of the hash table
+   */
+  private int[] slotIds;
+
+  /**
+   * Number of the state of every id
+   */
+  private long[] states;
+
+  /**
+   * Best time found for every id
+   */
+  private int[] times;
+
+  /**
+   * Id of the state from which every id is reached, or NONE
+   */
+  private int[] parents;
+
+  /**
+   * Link followed to reach every id from its parent (like an edge of a graph). 0 if it's not used
+   */
+  private int[] links;
+
+  /**
+   * Number of states kept
+   */
+  private int size;
+
+
+  /**
+   * Constructor of the class. Starts with no state
+   */
+  ReachedStates() {
+    slotStates = new long[INITIAL_CAPACITY * 2];
+    slotIds = new int[slotStates.length];
+    Arrays.fill(slotStates, EMPTY);
+
+    states = new long[INITIAL_CAPACITY];
+    times = new int[INITIAL_CAPACITY];
+    parents = new int[INITIAL_CAPACITY];
+    links = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Gets the id of a state, adding it if it's not reached yet
+   * @param state Number of the state (not negative)
+   * @return The id of the state. A new state has the time Integer.MAX_VALUE
+   */
+  int getId(long state) {
+    int slot = findSlot(slotStates, state);
+    if (slotStates[slot] == state) {
+      return slotIds[slot];
+    }
+
+    if (size == states.length) {
+      grow();
+      slot = findSlot(slotStates, state);
+    }
+
+    int id = size++;
+    slotStates[slot] = state;
+    slotIds[slot] = id;
+    states[id] = state;
+    times[id] = Integer.MAX_VALUE;
+    parents[id] = NONE;
+    return id;
+  }
+
+  /**
+   * Gets the number of the state of an id
+   * @param id Id of the state
+   * @return The number of the state
+   */
+  long getState(int id) {
+    return states[id];
+  }
+
+  /**
+   * Gets the best time found for a state
+   * @param id Id of the state
+   * @return The time, or Integer.MAX_VALUE if no time has been set
+   */
+  int getTime(int id) {
+    return times[id];
+  }
+
+  /**
+   * Gets the state from which a state is reached
+   * @param id Id of the state
+   * @return The id of the parent, or NONE
+   */
+  int getParent(int id) {
+    return parents[id];
+  }
+
+  /**
+   * Gets the link followed to reach a state from its parent
+   * @param id Id of the state
+   * @return The link
+   */
+  int getLink(int id) {
+    return links[id];
+  }
+
+  /**
+   * Sets a better way to reach a state
+   * @param id Id of the state
+   * @param time Time spent to reach the state
+   * @param parent Id of the state it comes from, or NONE
+   * @param link Link followed from the parent
+   */
+  void update(int id, int time, int parent, int link) {
+    times[id] = time;
+    parents[id] = parent;
+    links[id] = link;
+  }
+
+  /**
+   * Gets the number of states reached
+   * @return The number of states kept
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Doubles the capacity of the states and of the hash table
+   */
+  private void grow() {
+    int capacity = states.length * 2;
+    states = Arrays.copyOf(states, capacity);
+    times = Arrays.copyOf(times, capacity);
+    parents = Arrays.copyOf(parents, capacity);
+    links = Arrays.copyOf(links, capacity);
+
+    // The hash table is kept at half of its positions at most
+    long[] newSlotStates = new long[capacity * 2];
+    int[] newSlotIds = new int[newSlotStates.length];
+    Arrays.fill(newSlotStates, EMPTY);
+    for (int id = 0; id < size; id++) {
+      int slot = findSlot(newSlotStates, states[id]);
+      newSlotStates[slot] = states[id];
+      newSlotIds[slot] = id;
+    }
+    slotStates = newSlotStates;
+    slotIds = newSlotIds;
+  }
+
+  /**
+   * Finds the position of a state in a hash table, or the empty position where it would be
+   * @param table Numbers of the states of the hash table. Its length is a power of 2
+   * @param state Number of the state
+   * @return The position of the state or of the first empty position found
+   */
+  private static int findSlot(long[] table, long state) {
+    int mask = table.length - 1;
+
+    // The bits of the state are mixed, so the consecutive states don't fill consecutive positions
+    int slot = (int) ((state * 0x9E3779B97F4A7C15L) >>> 33) & mask;
+    while (table[slot] != EMPTY && table[slot] != state) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+}
@@ -0,0 +1,229 @@
+package app.labyrinth.model;
+
+import java.util.List;
+
+/**
+ * Evaluator of the time the player spends following a route, with the same rules as
+ * {@link Game#getTotalTimeSpent()}: the first two squares cost the initial velocity, going straight
+ * reduces the time per square from the third square in a row down to the maximum velocity, and a
+ * turn resets it.
+ *
+ * All the times are integer tenths of the time unit, so there is no rounding to fight and the
+ * result is the same as rounding to one decimal digit in every step. The route can be scored
+ * appending its squares one by one (streaming mode, O(1) per square) or all at once (batch mode)
+ */
+public class RouteCostEvaluator {
+
+  /**
+   * Time spent in a square at the initial velocity, in tenths
+   */
+  public static final int INITIAL_TENTHS = (int) Math.round(Game.INITIAL_VELOCITY * 10);
+
+  /**
+   * Time spent in a square at the maximum velocity, in tenths
+   */
+  public static final int MAX_VELOCITY_TENTHS = (int) Math.round(Game.MAX_VELOCITY * 10);
+
+  /**
+   * Time reduced per square going in a straight line, in tenths
+   */
+  public static final int ACCELERATION_TENTHS =
+      (int) Math.round(Game.STRAIGHT_ACCELERATION * 10);
+
+  /**
+   * Number of straight movements from which the player is going at the maximum velocity.
+   * The third square in a row is the first one accelerated, so more movements than this value
+   * don't change the velocity anymore
+   */
+  public static final int MAX_MOVEMENTS =
+      2 + (INITIAL_TENTHS - MAX_VELOCITY_TENTHS) / ACCELERATION_TENTHS;
+
+  /**
+   * Number of squares appended
+   */
+  private int size;
+
+  /**
+   * Horizontal position of the square before the last one
+   */
+  private int previousX;
+
+  /**
+   * Vertical position of the square before the last one
+   */
+  private int previousY;
+
+  /**
+   * Horizontal position of the last square
+   */
+  private int lastX;
+
+  /**
+   * Vertical position of the last square
+   */
+  private int lastY;
+
+  /**
+   * Number of squares travelled in the same line, up to MAX_MOVEMENTS
+   */
+  private int movements;
+
+  /**
+   * Time spent in the last square, in tenths
+   */
+  private int tenthsPerSquare;
+
+  /**
+   * Time spent in all the squares appended, in tenths
+   */
+  private int totalTenths;
+
+
+  /**
+   * Gets the time spent in a square after a number of movements in a straight line
+   * @param movements Number of squares travelled in the same line, including the current one
+   * @return The time spent in the square, in tenths
+   */
+  public static int getTenthsPerSquare(int movements) {
+    // The acceleration applies from the third square in a row and stops at the maximum velocity
+    return Math.max(INITIAL_TENTHS - Math.max(movements - 2, 0) * ACCELERATION_TENTHS,
+        MAX_VELOCITY_TENTHS);
+  }
+
+  /**
+   * Checks if going in the next direction after the previous one is going straight, the same way
+   * {@link Game#getTotalTimeSpent()} does: the three squares must share the horizontal or the
+   * vertical position. A diagonal movement is never straight
+   * @param previous Direction of the previous movement
+   * @param next Direction of the next movement
+   * @return True if the player doesn't make a turn
+   */
+  public static boolean isStraight(MovementDirection previous, MovementDirection next) {
+    return (previous.getXMovement() == 0 && next.getXMovement() == 0)
+        || (previous.getYMovement() == 0 && next.getYMovement() == 0);
+  }
+
+  /**
+   * Gets the time spent following a route of cells (batch mode)
+   * @param cells Cells of the route, in order
+   * @param size Number of cells of the array that are part of the route
+   * @param width Width of the map of the cells
+   * @return The time spent in the route, in tenths
+   */
+  public static int getTotalTenths(int[] cells, int size, int width) {
+    if (size == 0) {
+      return 0;
+    }
+
+    // The first 2 travelled squares are in the same line
+    int total = 2 * INITIAL_TENTHS;
+    int movements = 2;
+    int tenthsPerSquare = INITIAL_TENTHS;
+
+    for (int i = 2; i < size; i++) {
+      int first = cells[i - 2];
+      int previous = cells[i - 1];
+      int current = cells[i];
+
+      // Same column (the three cells differ in a multiple of the width) or the same row
+      if ((first % width == previous % width && previous % width == current % width)
+          || (first / width == previous / width && previous / width == current / width)) {
+        movements = Math.min(movements + 1, MAX_MOVEMENTS);
+        tenthsPerSquare = getTenthsPerSquare(movements);
+      } else {
+        movements = 1;
+        tenthsPerSquare = INITIAL_TENTHS;
+      }
+      total += tenthsPerSquare;
+    }
+    return total;
+  }
+
+  /**
+   * Gets the time spent following a route of coordinates (batch mode)
+   * @param route Coordinates of the route, in order
+   * @return The time spent in the route, in tenths
+   */
+  public static int getTotalTenths(List<Coordinate> route) {
+    RouteCostEvaluator evaluator = new RouteCostEvaluator();
+    for (Coordinate coordinate : route) {
+      evaluator.append(coordinate.x(), coordinate.y());
+    }
+    return evaluator.getTotalTenths();
+  }
+
+  /**
+   * Appends the next square of the route and adds its time (streaming mode)
+   * @param x Horizontal position of the square
+   * @param y Vertical position of the square
+   */
+  public void append(int x, int y) {
+
+    if (size == 0) {
+      // The first 2 travelled squares are in the same line, so both of them are counted here
+      totalTenths = 2 * INITIAL_TENTHS;
+      tenthsPerSquare = INITIAL_TENTHS;
+      movements = 2;
+
+    } else if (size > 1) {
+      // Check if the player doesn't make a turn
+      if ((previousX == lastX && lastX == x) || (previousY == lastY && lastY == y)) {
+        movements = Math.min(movements + 1, MAX_MOVEMENTS);
+        tenthsPerSquare = getTenthsPerSquare(movements);
+
+      // Resets if the player makes a turn
+      } else {
+        movements = 1;
+        tenthsPerSquare = INITIAL_TENTHS;
+      }
+      totalTenths += tenthsPerSquare;
+    }
+
+    previousX = lastX;
+    previousY = lastY;
+    lastX = x;
+    lastY = y;
+    size++;
+  }
+
+  /**
+   * Appends the next square of the route and adds its time (streaming mode)
+   * @param coordinate Coordinate of the square
+   */
+  public void append(Coordinate coordinate) {
+    append(coordinate.x(), coordinate.y());
+  }
+
+  /**
+   * Removes all the squares appended to start a new route
+   */
+  public void reset() {
+    size = 0;
+    totalTenths = 0;
+  }
+
+  /**
+   * Gets the number of squares appended
+   * @return The size of the route evaluated
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the time spent in the squares appended
+   * @return The time spent, in tenths
+   */
+  public int getTotalTenths() {
+    return totalTenths;
+  }
+
+  /**
+   * Gets the time spent in the squares appended
+   * @return The time spent, in the time unit of the game
+   */
+  public double getTotalTime() {
+    return totalTenths / 10.0;
+  }
+
+}
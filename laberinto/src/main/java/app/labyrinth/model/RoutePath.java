@@ -0,0 +1,224 @@
+package app.labyrinth.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Route made of cell indexes of a map. It keeps which cells of the route are intersections, with
+ * a stack of their positions, so going back to the last intersection and removing the way after it
+ * doesn't need to go through the route. Adding a cell and truncating the route are O(1) (amortised
+ * when the arrays grow)
+ */
+public class RoutePath {
+
+  /**
+   * Map of the cells of the route
+   */
+  private final LabyrinthMap map;
+
+  /**
+   * Cells of the route, in order
+   */
+  private int[] cells;
+
+  /**
+   * Whether the cell in the same position of the route is an intersection
+   */
+  private boolean[] intersectionMarkers;
+
+  /**
+   * Stack of the positions of the intersections in the route, in increasing order
+   */
+  private int[] intersectionPositions;
+
+  /**
+   * Number of cells in the route
+   */
+  private int size;
+
+  /**
+   * Number of intersections in the stack
+   */
+  private int intersectionCount;
+
+
+  /**
+   * Constructor of the class which creates an empty route
+   * @param map Map of the cells of the route
+   */
+  public RoutePath(LabyrinthMap map) {
+    this.map = map;
+    cells = new int[64];
+    intersectionMarkers = new boolean[cells.length];
+    intersectionPositions = new int[16];
+  }
+
+  /**
+   * Adds a cell at the end of the route
+   * @param cell Index of the cell
+   */
+  public void add(int cell) {
+    if (size == cells.length) {
+      cells = Arrays.copyOf(cells, size * 2);
+      intersectionMarkers = Arrays.copyOf(intersectionMarkers, size * 2);
+    }
+    cells[size] = cell;
+    intersectionMarkers[size] = false;
+    size++;
+  }
+
+  /**
+   * Marks the last cell of the route as an intersection, if it's not marked yet
+   */
+  public void markLastAsIntersection() {
+    int position = size - 1;
+    if (intersectionMarkers[position]) {
+      return;
+    }
+
+    if (intersectionCount == intersectionPositions.length) {
+      intersectionPositions = Arrays.copyOf(intersectionPositions, intersectionCount * 2);
+    }
+    intersectionMarkers[position] = true;
+    intersectionPositions[intersectionCount++] = position;
+  }
+
+  /**
+   * Checks if the cell in a position of the route is an intersection
+   * @param position Position in the route
+   * @return True if the cell is marked as an intersection
+   */
+  public boolean isIntersection(int position) {
+    return intersectionMarkers[position];
+  }
+
+  /**
+   * Gets the position of the last intersection of the route before the given position
+   * @param position Position of the route to look back from (not included)
+   * @return The position of the last intersection before it, or -1 if there is no intersection
+   */
+  public int getLastIntersectionBefore(int position) {
+    // The intersections after the position are at the top of the stack
+    for (int i = intersectionCount - 1; i >= 0; i--) {
+      if (intersectionPositions[i] < position) {
+        return intersectionPositions[i];
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Removes all the cells of the route from a position on
+   * @param newSize Number of cells kept in the route. It can't be greater than the size
+   */
+  public void truncate(int newSize) {
+    // Every intersection is pushed and popped once, so this loop is O(1) amortised
+    while (intersectionCount > 0 && intersectionPositions[intersectionCount - 1] >= newSize) {
+      intersectionMarkers[intersectionPositions[--intersectionCount]] = false;
+    }
+    size = newSize;
+  }
+
+  /**
+   * Gets the cell in a position of the route
+   * @param position Position in the route
+   * @return The index of the cell
+   */
+  public int get(int position) {
+    return cells[position];
+  }
+
+  /**
+   * Gets the last cell of the route
+   * @return The index of the last cell. The route can't be empty
+   */
+  public int getLast() {
+    return cells[size - 1];
+  }
+
+  /**
+   * Gets the number of cells in the route
+   * @return The size of the route
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the cells of the route
+   * @return A new array with the index of every cell, in order
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(cells, size);
+  }
+
+  /**
+   * Gets a view of the route as a list of coordinates. The list reflects the changes done in the
+   * route and it can't be modified
+   * @return The list view of the route
+   */
+  public List<Coordinate> asCoordinateList() {
+    return new CoordinateListView();
+  }
+
+  /**
+   * Read-only list of the coordinates of the route. The coordinates are created when they are
+   * requested, and searching a coordinate compares cell indexes without creating any
+   */
+  private class CoordinateListView extends AbstractList<Coordinate> implements RandomAccess {
+
+    @Override
+    public Coordinate get(int index) {
+      return map.getCoordinateOfIndex(cells[Objects.checkIndex(index, size)]);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public int indexOf(Object object) {
+      int cell = getCell(object);
+      for (int i = 0; cell != -1 && i < size; i++) {
+        if (cells[i] == cell) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object object) {
+      int cell = getCell(object);
+      for (int i = size - 1; cell != -1 && i >= 0; i--) {
+        if (cells[i] == cell) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+      return indexOf(object) != -1;
+    }
+
+    /**
+     * Gets the cell of the map of a coordinate
+     * @param object Coordinate to look for
+     * @return The index of the cell, or -1 if it's not a coordinate of the map
+     */
+    private int getCell(Object object) {
+      if (object instanceof Coordinate coordinate && coordinate.x() >= 0 && coordinate.y() >= 0
+          && coordinate.x() < map.getWidth() && coordinate.y() < map.getHeight()) {
+        return map.getIndex(coordinate.x(), coordinate.y());
+      }
+      return -1;
+    }
+  }
+
+}
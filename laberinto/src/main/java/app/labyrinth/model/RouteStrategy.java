@@ -0,0 +1,36 @@
+package app.labyrinth.model;
+
+import java.util.List;
+
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Strategy followed by the game to calculate the route from the player to the end of the
+ * labyrinth. Every implementation is a different routing engine, so they can be swapped in the
+ * game and compared between them
+ */
+public interface RouteStrategy {
+
+  /**
+   * Calculates the route from the player to the end of the map
+   * @param map Map of the labyrinth
+   * @return The list of coordinates from the player to the end, both included
+   * 
+   * @throws GameException If there is no route to the end
+   */
+  default List<Coordinate> calculateRoute(LabyrinthMap map) {
+    return calculateRoute(map, new SolverStatistics());
+  }
+  
+  /**
+   * Calculates the route from the player to the end of the map, adding the time of every phase
+   * and the work done to the statistics
+   * @param map Map of the labyrinth
+   * @param statistics Statistics of the calculation. The strategy adds to the values it has
+   * @return The list of coordinates from the player to the end, both included
+   * 
+   * @throws GameException If there is no route to the end
+   */
+  List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics);
+  
+}
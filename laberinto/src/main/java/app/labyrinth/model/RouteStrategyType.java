@@ -0,0 +1,100 @@
+package app.labyrinth.model;
+
+import java.util.function.Supplier;
+
+/**
+ * All the strategies available to calculate a route, with the name used to choose them from the
+ * command line. Every call to {@link #create()} gives a new instance, because some strategies keep
+ * the state of the route being calculated
+ */
+public enum RouteStrategyType {
+  /**
+   * Greedy depth first strategy, the default one of the game
+   */
+  GREEDY("greedy", GreedyDepthFirstStrategy::new),
+  /**
+   * Breadth first strategy
+   */
+  BREADTH_FIRST("bfs", BreadthFirstStrategy::new),
+  /**
+   * Bidirectional breadth first strategy
+   */
+  BIDIRECTIONAL_BREADTH_FIRST("bidirectional-bfs", BidirectionalBreadthFirstStrategy::new),
+  /**
+   * A* strategy with the octile heuristic
+   */
+  A_STAR("astar", AStarStrategy::new),
+  /**
+   * Jump Point Search strategy
+   */
+  JUMP_POINT_SEARCH("jps", JumpPointSearchStrategy::new),
+  /**
+   * Solver of the route that spends the least time
+   */
+  TIME_OPTIMAL("time-optimal", TimeOptimalRouteSolver::new),
+  /**
+   * Solver of the route that spends the least time over the graph of the corridors
+   */
+  CORRIDOR_GRAPH("corridor-graph", CorridorGraphStrategy::new),
+  /**
+   * Strategy that follows the distance field of the map to the end
+   */
+  DISTANCE_FIELD("distance-field", DistanceFieldStrategy::new),
+  /**
+   * Breadth first strategy that expands every level in parallel
+   */
+  PARALLEL_BREADTH_FIRST("parallel-bfs", ParallelBreadthFirstStrategy::new);
+
+  /**
+   * Name of the strategy in the command line
+   */
+  private final String name;
+
+  /**
+   * Creator of new instances of the strategy
+   */
+  private final Supplier<RouteStrategy> creator;
+
+  /**
+   * Constructor of the enum
+   * @param name Name of the strategy in the command line
+   * @param creator Creator of new instances of the strategy
+   */
+  RouteStrategyType(String name, Supplier<RouteStrategy> creator) {
+    this.name = name;
+    this.creator = creator;
+  }
+
+  /**
+   * Gets the name of the strategy in the command line
+   * @return The name of the strategy
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Creates a new instance of the strategy
+   * @return The new strategy
+   */
+  public RouteStrategy create() {
+    return creator.get();
+  }
+
+  /**
+   * Gets the type of strategy with the given name
+   * @param name Name of the strategy in the command line
+   * @return The type of strategy
+   *
+   * @throws IllegalArgumentException If there is no strategy with the name
+   */
+  public static RouteStrategyType fromName(String name) {
+    for (RouteStrategyType type : values()) {
+      if (type.name.equals(name)) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown strategy: " + name);
+  }
+
+}
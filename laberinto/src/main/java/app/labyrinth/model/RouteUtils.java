@@ -0,0 +1,38 @@
+package app.labyrinth.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Static class with utility methods shared by the route strategies
+ */
+class RouteUtils {
+
+  /**
+   * Private constructor that makes impossible instantiate an object of the class
+   */
+  private RouteUtils() {}
+  
+  /**
+   * Builds a route going back from the last cell to the first one through the parent of every cell
+   * @param map Map of the labyrinth
+   * @param parents Cell from which every cell was reached
+   * @param first Index of the first cell of the route
+   * @param last Index of the last cell of the route
+   * @return The route from the first cell to the last one, both included
+   */
+  static List<Coordinate> getRouteFromParents(LabyrinthMap map, int[] parents, int first, 
+      int last) {
+    List<Coordinate> route = new ArrayList<>();
+    
+    for (int cell = last; cell != first; cell = parents[cell]) {
+      route.add(map.getCoordinateOfIndex(cell));
+    }
+    route.add(map.getCoordinateOfIndex(first));
+    
+    Collections.reverse(route);
+    return route;
+  }
+  
+}
@@ -0,0 +1,183 @@
+package app.labyrinth.model;
+
+/**
+ * Statistics of a route calculation: the time spent in every phase of the strategy, measured with
+ * {@link System#nanoTime()}, and counters of the work done by the search. The strategies fill it
+ * while they calculate the route, so it shows where the time of the calculation goes
+ */
+public class SolverStatistics {
+
+  /**
+   * Phase of a route calculation. The phases don't overlap, so their times can be added up
+   */
+  public enum Phase {
+    /**
+     * Reading the player and the end from the map and creating the structures of the search
+     */
+    SETUP,
+    /**
+     * Exploring the map and building the route, without the backtracking
+     */
+    SEARCH,
+    /**
+     * Going back to the last intersection after finding a dead end
+     */
+    BACKTRACKING
+  }
+
+  /**
+   * Time spent in every phase, in ns (nanoseconds), indexed by the ordinal of the phase
+   */
+  private final long[] phaseNanos = new long[Phase.values().length];
+
+  /**
+   * Number of cells expanded (taken from the frontier of the search to look at their neighbours)
+   */
+  private long nodesExpanded;
+
+  /**
+   * Number of neighbours looked at while expanding the cells
+   */
+  private long neighbourChecks;
+
+  /**
+   * Number of times the player goes back to the last intersection
+   */
+  private long backtracks;
+
+  /**
+   * Maximum length of the route kept during the calculation
+   */
+  private int peakRouteLength;
+
+
+  /**
+   * Gets the current time to measure a phase
+   * @return The current value of {@link System#nanoTime()}
+   */
+  public static long startPhase() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Adds the time spent in a phase since it started
+   * @param phase Phase measured
+   * @param startNanos Time when the phase started, given by {@link #startPhase()}
+   * @return The current time, so the next phase can start from it
+   */
+  public long endPhase(Phase phase, long startNanos) {
+    long now = System.nanoTime();
+    phaseNanos[phase.ordinal()] += now - startNanos;
+    return now;
+  }
+
+  /**
+   * Adds a time to a phase
+   * @param phase Phase measured
+   * @param nanos Time to add, in ns (nanoseconds)
+   */
+  public void addPhaseNanos(Phase phase, long nanos) {
+    phaseNanos[phase.ordinal()] += nanos;
+  }
+
+  /**
+   * Counts a cell expanded
+   */
+  public void addNodeExpanded() {
+    nodesExpanded++;
+  }
+
+  /**
+   * Counts several cells expanded at once
+   * @param count Number of cells
+   */
+  public void addNodesExpanded(int count) {
+    nodesExpanded += count;
+  }
+
+  /**
+   * Counts the neighbours looked at
+   * @param count Number of neighbours
+   */
+  public void addNeighbourChecks(int count) {
+    neighbourChecks += count;
+  }
+
+  /**
+   * Counts a way back to the last intersection
+   */
+  public void addBacktrack() {
+    backtracks++;
+  }
+
+  /**
+   * Updates the maximum length of the route if the given length is greater
+   * @param routeLength Current length of the route
+   */
+  public void updatePeakRouteLength(int routeLength) {
+    peakRouteLength = Math.max(peakRouteLength, routeLength);
+  }
+
+  /**
+   * Gets the time spent in a phase
+   * @param phase Phase of the calculation
+   * @return The time spent in the phase, in ns (nanoseconds)
+   */
+  public long getPhaseNanos(Phase phase) {
+    return phaseNanos[phase.ordinal()];
+  }
+
+  /**
+   * Gets the time spent in all the phases
+   * @return The total time, in ns (nanoseconds)
+   */
+  public long getTotalNanos() {
+    long total = 0;
+    for (long nanos : phaseNanos) {
+      total += nanos;
+    }
+    return total;
+  }
+
+  /**
+   * Gets the number of cells expanded
+   * @return The number of cells expanded
+   */
+  public long getNodesExpanded() {
+    return nodesExpanded;
+  }
+
+  /**
+   * Gets the number of neighbours looked at
+   * @return The number of neighbour checks
+   */
+  public long getNeighbourChecks() {
+    return neighbourChecks;
+  }
+
+  /**
+   * Gets the number of times the player went back to the last intersection
+   * @return The number of backtracks
+   */
+  public long getBacktracks() {
+    return backtracks;
+  }
+
+  /**
+   * Gets the maximum length of the route during the calculation
+   * @return The peak route length
+   */
+  public int getPeakRouteLength() {
+    return peakRouteLength;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("setup=%,d ns, search=%,d ns, backtracking=%,d ns, nodes expanded=%,d, "
+        + "neighbour checks=%,d, backtracks=%,d, peak route length=%,d",
+        getPhaseNanos(Phase.SETUP), getPhaseNanos(Phase.SEARCH),
+        getPhaseNanos(Phase.BACKTRACKING), nodesExpanded, neighbourChecks, backtracks,
+        peakRouteLength);
+  }
+
+}
@@ -0,0 +1,172 @@
+package app.labyrinth.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import app.labyrinth.model.SolverStatistics.Phase;
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.utils.IntMinHeap;
+
+/**
+ * Solver which finds the route that takes the least time to reach the end of the labyrinth,
+ * following exactly the acceleration rules used by {@link Game#getTotalTimeSpent()}.
+ *
+ * The time spent in a square depends on the direction the player comes from and on the number of
+ * squares travelled in a straight line, so the search is done with A* over the states
+ * (cell, heading, straight movements) instead of over the cells. All the times are kept in tenths
+ * of the time unit, as in {@link RouteCostEvaluator}, which makes the costs exact integers. Only
+ * the states reached are kept, so the memory doesn't grow with the cells the search never reaches.
+ */
+public class TimeOptimalRouteSolver implements RouteStrategy {
+
+  /**
+   * All the directions the player can move to, indexed by their ordinal
+   */
+  private static final MovementDirection[] directions = MovementDirection.values();
+
+  /**
+   * Number of straight movements from which the velocity doesn't change anymore
+   */
+  private static final int MAX_MOVEMENTS = RouteCostEvaluator.MAX_MOVEMENTS;
+
+  /**
+   * Number of states kept per cell: every heading with every number of straight movements
+   */
+  private static final int STATES_PER_CELL = directions.length * RouteCostEvaluator.MAX_MOVEMENTS;
+
+
+  /**
+   * Calculates the route that spends the least time from the player to the end of the map
+   * @param map Map of the labyrinth
+   * @param statistics Statistics of the calculation. Every state expanded counts as a node, so a
+   * cell can be expanded more than once
+   * @return The list of coordinates from the player to the end, both included
+   *
+   * @throws GameException If there is no route to the end
+   */
+  @Override
+  public List<Coordinate> calculateRoute(LabyrinthMap map, SolverStatistics statistics) {
+
+    long phaseStart = SolverStatistics.startPhase();
+    int start = map.getIndexOfElement(Element.PLAYER);
+    NearestEndEstimator estimator = new NearestEndEstimator(map,
+        TimeOptimalRouteSolver::getMinimumTenths);
+
+    // Best time found for every state reached and the state it comes from. The heap keeps their ids
+    ReachedStates states = new ReachedStates();
+    IntMinHeap openStates = new IntMinHeap(1024);
+
+    // The first movement from the player travels two squares (the player's one and the next one)
+    // in the same line, so every neighbour starts with two straight movements
+    for (int mask = map.getPassableMask(start); mask != 0; mask &= mask - 1) {
+      int direction = Integer.numberOfTrailingZeros(mask);
+      int next = start + map.getNeighbourOffset(direction);
+      int id = states.getId(getState(next, directions[direction], 2));
+      states.update(id, 2 * RouteCostEvaluator.INITIAL_TENTHS, ReachedStates.NONE, 0);
+      openStates.push(states.getTime(id) + estimator.estimate(next), id);
+    }
+    phaseStart = statistics.endPhase(Phase.SETUP, phaseStart);
+
+    try {
+      while (!openStates.isEmpty()) {
+        int priority = openStates.peekPriority();
+        int id = openStates.poll();
+        long state = states.getState(id);
+        int cell = (int) (state / STATES_PER_CELL);
+        int time = states.getTime(id);
+
+        // Skips the states already polled with a better time
+        if (priority != time + estimator.estimate(cell)) {
+          continue;
+        }
+
+        // The heuristic is consistent, so the first time an end is polled it's the fastest route
+        if (map.isEnd(cell)) {
+          List<Coordinate> route = getRoute(map, start, id, states);
+          statistics.updatePeakRouteLength(route.size());
+          return route;
+        }
+
+        MovementDirection heading = directions[(int) (state % STATES_PER_CELL) / MAX_MOVEMENTS];
+        int movements = (int) (state % MAX_MOVEMENTS) + 1;
+        int passableMask = map.getPassableMask(cell);
+        statistics.addNodeExpanded();
+        statistics.addNeighbourChecks(Integer.bitCount(passableMask));
+
+        for (int mask = passableMask; mask != 0; mask &= mask - 1) {
+          MovementDirection direction = directions[Integer.numberOfTrailingZeros(mask)];
+
+          // Going back to the previous square is never faster
+          if (direction.getXMovement() == -heading.getXMovement()
+              && direction.getYMovement() == -heading.getYMovement()) {
+            continue;
+          }
+
+          int next = cell + map.getNeighbourOffset(direction.ordinal());
+
+          // Going straight adds a movement in the same line. A turn resets the velocity
+          int nextMovements = RouteCostEvaluator.isStraight(heading, direction)
+              ? Math.min(movements + 1, MAX_MOVEMENTS) : 1;
+          int nextId = states.getId(getState(next, direction, nextMovements));
+          int nextTime = time + RouteCostEvaluator.getTenthsPerSquare(nextMovements);
+
+          if (nextTime < states.getTime(nextId)) {
+            states.update(nextId, nextTime, id, 0);
+            openStates.push(nextTime + estimator.estimate(next), nextId);
+          }
+        }
+      }
+
+      // There is no way to reach the end
+      throw new GameException();
+
+    } finally {
+      statistics.endPhase(Phase.SEARCH, phaseStart);
+    }
+  }
+
+  /**
+   * Gets the number of a state of the search
+   * @param cell Index of the cell
+   * @param heading Direction of the movement done to reach the cell
+   * @param movements Number of squares travelled in the same line, from 1 up to MAX_MOVEMENTS
+   * @return The number of the state. It's a long, so it doesn't overflow in the biggest maps
+   */
+  private long getState(int cell, MovementDirection heading, int movements) {
+    return (long) cell * STATES_PER_CELL + heading.ordinal() * MAX_MOVEMENTS + movements - 1;
+  }
+
+  /**
+   * Gets the minimum time that could be spent between two cells. It's the number of squares to go
+   * if there were no obstacles (diagonal movements included) at the maximum velocity
+   * @param dx Horizontal distance between the cells
+   * @param dy Vertical distance between the cells
+   * @return The minimum time between the cells, in tenths
+   */
+  static int getMinimumTenths(int dx, int dy) {
+    return Math.max(dx, dy) * RouteCostEvaluator.MAX_VELOCITY_TENTHS;
+  }
+
+  /**
+   * Builds the route going back from the final state through the parents of every state
+   * @param map Map of the labyrinth
+   * @param start Index of the player's cell
+   * @param finalId Id of the state that reached the end
+   * @param states States reached, with the state from which every one was reached
+   * @return The route from the player to the end
+   */
+  private List<Coordinate> getRoute(LabyrinthMap map, int start, int finalId,
+      ReachedStates states) {
+    List<Coordinate> route = new ArrayList<>();
+
+    for (int id = finalId; id != ReachedStates.NONE; id = states.getParent(id)) {
+      route.add(map.getCoordinateOfIndex((int) (states.getState(id) / STATES_PER_CELL)));
+    }
+    route.add(map.getCoordinateOfIndex(start));
+
+    Collections.reverse(route);
+    return route;
+  }
+
+}
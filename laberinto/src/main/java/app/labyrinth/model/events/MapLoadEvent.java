@@ -0,0 +1,45 @@
+package app.labyrinth.model.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of a map read from a file. The duration of the event is the time
+ * spent reading and decoding the file
+ */
+@Name("app.labyrinth.MapLoad")
+@Label("Map Load")
+@Category("Labyrinth")
+@Description("Map read from a file")
+public class MapLoadEvent extends Event {
+
+  /**
+   * Path of the file of the map
+   */
+  @Label("Path")
+  public String path;
+
+  /**
+   * Number of rows of the map
+   */
+  @Label("Rows")
+  public int rows;
+
+  /**
+   * Number of columns of the map
+   */
+  @Label("Columns")
+  public int columns;
+
+  /**
+   * Size of the file of the map
+   */
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+}
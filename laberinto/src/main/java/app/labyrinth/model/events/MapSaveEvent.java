@@ -0,0 +1,39 @@
+package app.labyrinth.model.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of a solved map written in a file. The duration of the event is the
+ * time spent reading the original map, drawing the route and writing the file
+ */
+@Name("app.labyrinth.MapSave")
+@Label("Map Save")
+@Category("Labyrinth")
+@Description("Solved map written in a file")
+public class MapSaveEvent extends Event {
+
+  /**
+   * Path of the file written
+   */
+  @Label("Path")
+  public String path;
+
+  /**
+   * Number of lines written
+   */
+  @Label("Lines")
+  public int lines;
+
+  /**
+   * Number of characters written, one byte each in the ASCII maps
+   */
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+}
@@ -0,0 +1,49 @@
+package app.labyrinth.model.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of a route calculated by a game. The duration of the event is the
+ * time spent by the strategy
+ */
+@Name("app.labyrinth.RouteCalculation")
+@Label("Route Calculation")
+@Category("Labyrinth")
+@Description("Route calculated from the player to the end")
+public class RouteCalculationEvent extends Event {
+
+  /**
+   * Path of the file of the map. Null if the map was not read from a file
+   */
+  @Label("Map")
+  public String map;
+
+  /**
+   * Number of cells of the map
+   */
+  @Label("Cells")
+  public int cells;
+
+  /**
+   * Name of the class of the strategy
+   */
+  @Label("Strategy")
+  public String strategy;
+
+  /**
+   * Number of cells expanded by the search
+   */
+  @Label("Nodes Expanded")
+  public long nodesExpanded;
+
+  /**
+   * Number of squares of the route found. 0 if there is no route
+   */
+  @Label("Route Length")
+  public int routeLength;
+
+}
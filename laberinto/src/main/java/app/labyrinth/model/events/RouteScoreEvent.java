@@ -0,0 +1,30 @@
+package app.labyrinth.model.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of the calculation of the time the player spends following a route
+ */
+@Name("app.labyrinth.RouteScore")
+@Label("Route Score")
+@Category("Labyrinth")
+@Description("Time spent by the player following the route")
+public class RouteScoreEvent extends Event {
+
+  /**
+   * Number of squares of the route
+   */
+  @Label("Route Length")
+  public int routeLength;
+
+  /**
+   * Time spent by the player, in the time unit of the game. 0 if the route is wrong
+   */
+  @Label("Time Spent")
+  public double timeSpent;
+
+}
@@ -0,0 +1,114 @@
+package app.labyrinth.model.utils;
+
+import java.util.Arrays;
+
+/**
+ * Binary min heap of int values ordered by an int priority. It keeps everything in primitive
+ * arrays, so pushing and polling don't create objects (except when the heap grows)
+ */
+public class IntMinHeap {
+
+  /**
+   * Priorities of the elements kept in the heap
+   */
+  private int[] priorities;
+  
+  /**
+   * Values of the elements kept in the heap, in the same position as their priorities
+   */
+  private int[] values;
+  
+  /**
+   * Number of elements in the heap
+   */
+  private int size;
+  
+  /**
+   * Constructor of the class
+   * @param initialCapacity Number of elements the heap can keep before growing
+   */
+  public IntMinHeap(int initialCapacity) {
+    priorities = new int[Math.max(initialCapacity, 1)];
+    values = new int[priorities.length];
+  }
+  
+  /**
+   * Adds a value to the heap
+   * @param priority Priority of the value. The lowest priority is polled first
+   * @param value Value to add
+   */
+  public void push(int priority, int value) {
+    if (size == priorities.length) {
+      priorities = Arrays.copyOf(priorities, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    
+    // Sifts the new element up until its parent has a lower or equal priority
+    int i = size++;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (priorities[parent] <= priority) {
+        break;
+      }
+      priorities[i] = priorities[parent];
+      values[i] = values[parent];
+      i = parent;
+    }
+    priorities[i] = priority;
+    values[i] = value;
+  }
+  
+  /**
+   * Gets the priority of the first element of the heap without removing it
+   * @return The lowest priority of the heap. The heap can't be empty
+   */
+  public int peekPriority() {
+    return priorities[0];
+  }
+  
+  /**
+   * Removes the element with the lowest priority from the heap
+   * @return The value of the removed element. The heap can't be empty
+   */
+  public int poll() {
+    int first = values[0];
+    int lastPriority = priorities[--size];
+    int lastValue = values[size];
+    
+    // Sifts the last element down from the root until both children have a greater priority
+    int i = 0;
+    int half = size >>> 1;
+    while (i < half) {
+      int child = 2 * i + 1;
+      if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+        child++;
+      }
+      if (lastPriority <= priorities[child]) {
+        break;
+      }
+      priorities[i] = priorities[child];
+      values[i] = values[child];
+      i = child;
+    }
+    priorities[i] = lastPriority;
+    values[i] = lastValue;
+    
+    return first;
+  }
+  
+  /**
+   * Checks if the heap has no elements
+   * @return True if the heap is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+  
+  /**
+   * Removes all the elements of the heap, keeping its capacity
+   */
+  public void clear() {
+    size = 0;
+  }
+  
+}
@@ -10,6 +10,7 @@ import javax.swing.JTextArea;
 import app.labyrinth.model.Coordinate;
 import app.labyrinth.model.Game;
 import app.labyrinth.model.LabyrinthFileManager;
+import app.labyrinth.model.events.MapSaveEvent;
 import app.labyrinth.model.exceptions.GameException;
 
 import javax.swing.JButton;
@@ -194,6 +195,7 @@ public class App {
     // Calculation of the route
     game.calculateRoute();
     List<Coordinate> route = game.getRoute();
+    System.out.println("Route statistics: " + game.getStatistics());
     
     // Saving and printing the new route
     saveMap(route);
@@ -247,25 +249,26 @@ public class App {
   private void saveMap(List<Coordinate> route) {
     
     List<String> mapLines;
+    MapSaveEvent event = new MapSaveEvent();
+    event.begin();
     try {
       // Reads the original map to add the route and save it
       mapLines = LabyrinthFileManager.readMapLines(MAP_PATH_INITIAL);
       
-      // Divides every line into a char array. If the coordinate is in the route, 
-      // changes the character to '*' (Element travelled) 
-      for (int i = 0; i < mapLines.size(); i++) {
-        char[] line = mapLines.get(i).toCharArray();
-        
-        for (int j = 0; j < line.length; j++) {
-          line[j] = (route.contains(new Coordinate(j, i))) ? '*' : line[j];
-        }
-        // Update the mapLines list to keep the solved labyrinth
-        mapLines.remove(i);
-        mapLines.add(i, String.valueOf(line) + "\n");
-      }
+      // Changes the squares of the route to '*' (Element travelled)
+      mapLines = LabyrinthFileManager.getSolvedMapLines(mapLines, route);
       
       // Write the solved labyrinth permanently in the file
       LabyrinthFileManager.writeMap(MAP_PATH_SOLVED, mapLines);
+      
+      // The event is only filled if it's recorded
+      event.end();
+      if (event.shouldCommit()) {
+        event.path = MAP_PATH_SOLVED.toString();
+        event.lines = mapLines.size();
+        event.bytes = mapLines.stream().mapToLong(String::length).sum();
+        event.commit();
+      }
     
     // In case of error
     } catch (IOException e) {
@@ -0,0 +1,257 @@
+package app.labyrinth.view;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import app.labyrinth.model.Game;
+import app.labyrinth.model.LabyrinthFileManager;
+import app.labyrinth.model.RouteStrategyType;
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Headless entry point of the App which solves all the maps of a folder in parallel, without
+ * the window. Every map is solved by its own Game in a ForkJoinPool, and the solved maps are
+ * written in the output folder with a CSV of the results. A folder gives all its ASCII (.txt) and
+ * binary (.lbm) maps, and every solved map is written in the format of its file.
+ *
+ * Usage: BatchSolver &lt;folder or glob of maps&gt; &lt;output folder&gt; [--threads N]
+ * [--strategy name]
+ */
+public class BatchSolver {
+
+  /**
+   * Name of the CSV file with the results, written in the output folder
+   */
+  static final String RESULTS_FILE_NAME = "results.csv";
+
+  /**
+   * Pattern of the map files when a folder is given: the ASCII and the binary maps
+   */
+  private static final String DEFAULT_GLOB = "*.{txt,lbm}";
+
+  /**
+   * Result of solving a map
+   * @param map Path of the map
+   * @param status SOLVED, NO_ROUTE if the end can't be reached, SOLVER_FAILED if the end can be
+   * reached but the strategy didn't find a route, or INVALID_MAP if the map can't be read or
+   * written, or it has no player or no end
+   * @param routeLength Number of squares of the route. 0 if it's not solved
+   * @param timeSpent Time spent by the player following the route. 0 if it's not solved
+   * @param solveNanos Time spent calculating the route, in ns (nanoseconds)
+   */
+  public record MapResult(Path map, String status, int routeLength, double timeSpent,
+      long solveNanos) {}
+
+  /**
+   * Folder where the solved maps and the results are written
+   */
+  private final Path outputFolder;
+
+  /**
+   * Strategy used to solve every map
+   */
+  private final RouteStrategyType strategyType;
+
+  /**
+   * Number of maps solved at the same time
+   */
+  private final int threads;
+
+
+  /**
+   * Launches the batch solver from the command line
+   * @param args Folder or glob of the maps, output folder and the optional arguments --threads
+   * (number of available processors by default) and --strategy (bfs by default, which always
+   * finds a route if there is one)
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.err.println("Usage: BatchSolver <folder or glob of maps> <output folder> "
+          + "[--threads N] [--strategy name]");
+      System.exit(2);
+    }
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    RouteStrategyType strategyType = RouteStrategyType.BREADTH_FIRST;
+    for (int i = 2; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+      case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+      case "--strategy" -> strategyType = RouteStrategyType.fromName(args[i + 1]);
+      default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+
+    // The messages of every game would be written by all the threads at the same time
+    PrintStream standardOutput = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    try {
+      long startTime = System.nanoTime();
+      List<Path> maps = findMaps(args[0]);
+      List<MapResult> results = new BatchSolver(Path.of(args[1]), strategyType, threads)
+          .solve(maps);
+
+      long solved = results.stream().filter(result -> result.status().equals("SOLVED")).count();
+      standardOutput.printf("Solved %d of %d maps in %,d ms%n", solved, results.size(),
+          (System.nanoTime() - startTime) / 1_000_000);
+
+    } catch (IOException e) {
+      System.err.println("A problem occurred reading the maps or writing the results: " + e);
+      System.exit(1);
+
+    } finally {
+      System.setOut(standardOutput);
+    }
+  }
+
+  /**
+   * Constructor of the class
+   * @param outputFolder Folder where the solved maps and the results are written. It's created if
+   * it doesn't exist
+   * @param strategyType Strategy used to solve every map
+   * @param threads Number of maps solved at the same time
+   */
+  public BatchSolver(Path outputFolder, RouteStrategyType strategyType, int threads) {
+    this.outputFolder = outputFolder;
+    this.strategyType = strategyType;
+    this.threads = threads;
+  }
+
+  /**
+   * Finds the map files given by a folder (all its txt and lbm files) or by a glob of file names
+   * inside a folder, like "maps/*.txt"
+   * @param location Folder or glob of the maps
+   * @return The paths of the maps, sorted by name
+   *
+   * @throws IOException In case the folder can't be read
+   */
+  public static List<Path> findMaps(String location) throws IOException {
+    Path path = Path.of(location);
+    Path folder = Files.isDirectory(path) ? path : path.toAbsolutePath().getParent();
+    String glob = Files.isDirectory(path) ? DEFAULT_GLOB : path.getFileName().toString();
+
+    List<Path> maps = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, glob)) {
+      for (Path file : files) {
+        if (Files.isRegularFile(file)) {
+          maps.add(file);
+        }
+      }
+    }
+    maps.sort(null);
+    return maps;
+  }
+
+  /**
+   * Solves all the maps in parallel, writing every solved map in the output folder with the same
+   * name and the results in a CSV file
+   * @param maps Paths of the maps. Their names must be different
+   * @return The result of every map, in the same order
+   *
+   * @throws IOException In case the output folder or the results can't be written
+   */
+  public List<MapResult> solve(List<Path> maps) throws IOException {
+    Files.createDirectories(outputFolder);
+
+    List<Callable<MapResult>> tasks = new ArrayList<>(maps.size());
+    for (Path map : maps) {
+      tasks.add(() -> solveMap(map));
+    }
+
+    List<MapResult> results = new ArrayList<>(maps.size());
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      for (Future<MapResult> future : pool.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+
+    // solveMap doesn't throw checked exceptions, so it can only be an unexpected error
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+
+    } finally {
+      pool.shutdown();
+    }
+
+    writeResults(results);
+    return results;
+  }
+
+  /**
+   * Solves a map with its own game and writes the solved map
+   * @param map Path of the map
+   * @return The result of the map
+   */
+  private MapResult solveMap(Path map) {
+    Game game;
+    try {
+      game = new Game(map, strategyType.create());
+    } catch (MapException e) {
+      return new MapResult(map, "INVALID_MAP", 0, 0, 0);
+    }
+
+    try {
+      // The maps without a way to the end are discarded before calculating the route
+      long checkStart = System.nanoTime();
+      if (!game.isEndReachable()) {
+        return new MapResult(map, "NO_ROUTE", 0, 0, System.nanoTime() - checkStart);
+      }
+
+      game.calculateRoute();
+      double timeSpent = game.getTotalTimeSpent();
+
+      // The solved map keeps the format of its file: binary for .lbm maps and ASCII otherwise
+      LabyrinthFileManager.writeSolvedMap(outputFolder.resolve(map.getFileName()), game.getMap(),
+          game.getRoute());
+
+      return new MapResult(map, "SOLVED", game.getRoute().size(), timeSpent,
+          game.getTimeSpentCalculatingRoute());
+
+    // The end can be reached, so the strategy failed to find the route (like the greedy one,
+    // which can give up in a dead end)
+    } catch (GameException e) {
+      return new MapResult(map, "SOLVER_FAILED", 0, 0, game.getTimeSpentCalculatingRoute());
+
+    // The map is read, but it has no player or no end
+    } catch (MapException | IOException e) {
+      return new MapResult(map, "INVALID_MAP", 0, 0, game.getTimeSpentCalculatingRoute());
+    }
+  }
+
+  /**
+   * Writes the results in the CSV file of the output folder
+   * @param results Result of every map
+   *
+   * @throws IOException In case the file can't be written
+   */
+  private void writeResults(List<MapResult> results) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(
+        outputFolder.resolve(RESULTS_FILE_NAME))) {
+      writer.write("map,status,route_length,time_spent,solve_nanos");
+      writer.newLine();
+
+      for (MapResult result : results) {
+        writer.write(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d", result.map().getFileName(),
+            result.status(), result.routeLength(), result.timeSpent(), result.solveNanos()));
+        writer.newLine();
+      }
+    }
+  }
+
+}
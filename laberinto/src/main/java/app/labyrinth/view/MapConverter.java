@@ -0,0 +1,60 @@
+package app.labyrinth.view;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import app.labyrinth.model.LabyrinthFileManager;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Entry point of the App which converts a map file between the ASCII format (.txt) and the binary
+ * format (.lbm). The format of every file is given by its extension.
+ *
+ * Usage: MapConverter &lt;input map&gt; &lt;output map&gt;
+ */
+public class MapConverter {
+
+  /**
+   * Private constructor that makes impossible instantiate an object of the class
+   */
+  private MapConverter() {}
+
+  /**
+   * Launches the converter from the command line
+   * @param args Path of the input map and path of the output map
+   */
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.err.println("Usage: MapConverter <input map> <output map>");
+      System.exit(2);
+    }
+
+    try {
+      convert(Path.of(args[0]), Path.of(args[1]));
+      System.out.println("Map converted correctly");
+
+    } catch (MapException e) {
+      System.err.println("The map is not valid: " + args[0]);
+      System.exit(1);
+
+    } catch (IOException e) {
+      System.err.println("A problem occurred writing the map: " + e);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Converts a map file to the format of the output file
+   * @param inputPath Path of the map to convert, in ASCII or binary format
+   * @param outputPath Path of the converted map. It's written in the binary format if its name
+   * ends with .lbm or with ASCII characters otherwise
+   *
+   * @throws IOException In case the output map can't be written
+   * @throws MapException In case the input map is not valid
+   */
+  public static void convert(Path inputPath, Path outputPath) throws IOException {
+    LabyrinthFileManager.writeMap(outputPath, new LabyrinthMap(inputPath));
+  }
+
+}
@@ -0,0 +1,50 @@
+package app.labyrinth.view;
+
+import java.nio.file.Path;
+
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MultiPlayerSolver;
+import app.labyrinth.model.MultiPlayerSolver.PlayerRoute;
+import app.labyrinth.model.MultiPlayerSolver.Report;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Entry point of the App which solves the routes of all the players of a map at once and prints
+ * the report, without opening the window. The map can be in the ASCII or the binary format.
+ *
+ * Usage: MultiPlayerReport &lt;map&gt;
+ */
+public class MultiPlayerReport {
+
+  /**
+   * Private constructor that makes impossible instantiate an object of the class
+   */
+  private MultiPlayerReport() {}
+
+  /**
+   * Launches the report from the command line
+   * @param args Path of the map
+   */
+  public static void main(String[] args) {
+    if (args.length != 1) {
+      System.err.println("Usage: MultiPlayerReport <map>");
+      System.exit(2);
+    }
+
+    try {
+      Report report = new MultiPlayerSolver().solve(new LabyrinthMap(Path.of(args[0])));
+      for (PlayerRoute route : report.routes()) {
+        System.out.println(route.isReached()
+            ? "Player " + route.player() + ": " + route.route().size() + " squares, time spent "
+                + route.timeSpent()
+            : "Player " + route.player() + ": no route to the end");
+      }
+      System.out.println("Players report: " + report);
+
+    } catch (MapException e) {
+      System.err.println("The map is not valid: " + args[0]);
+      System.exit(1);
+    }
+  }
+
+}
@@ -0,0 +1,170 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.labyrinth.model.Element;
+import app.labyrinth.model.Game;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.RouteStrategyType;
+import app.labyrinth.view.BatchSolver;
+import app.labyrinth.view.BatchSolver.MapResult;
+import app.labyrinth.view.MapConverter;
+
+/**
+ * Tests for the BatchSolver class
+ */
+class BatchSolverTests {
+
+  /**
+   * Folder with the maps and the results
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks all the maps of a folder are solved in parallel with the same results as solving them
+   * one by one, and the solved maps and the CSV are written
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void solveFolderTest() throws IOException {
+    Path mapsFolder = Files.createDirectory(folder.resolve("maps"));
+    for (int i = 0; i < 6; i++) {
+      new MazeGenerator(MazeType.BRAIDED, i).writeMaze(mapsFolder.resolve("maze-" + i + ".txt"),
+          41, 31);
+    }
+    // The end is closed by walls
+    Files.write(mapsFolder.resolve("closed.txt"), List.of("+-----+", "|P  |F|", "+-----+"));
+
+    Path outputFolder = folder.resolve("solved");
+    List<Path> maps = BatchSolver.findMaps(mapsFolder.toString());
+    List<MapResult> results = new BatchSolver(outputFolder, RouteStrategyType.A_STAR, 3)
+        .solve(maps);
+
+    assertEquals(7, results.size());
+    assertEquals("NO_ROUTE", results.get(0).status());
+    for (int i = 1; i < results.size(); i++) {
+      MapResult result = results.get(i);
+      assertEquals(maps.get(i), result.map());
+      assertEquals("SOLVED", result.status());
+
+      // Same route as a game alone
+      Game game = new Game(result.map(), RouteStrategyType.A_STAR.create());
+      game.calculateRoute();
+      assertEquals(game.getRoute().size(), result.routeLength());
+      assertEquals(game.getTotalTimeSpent(), result.timeSpent());
+      assertTrue(Files.readString(outputFolder.resolve(result.map().getFileName()))
+          .contains("*"));
+    }
+
+    List<String> csvLines = Files.readAllLines(outputFolder.resolve("results.csv"));
+    assertEquals(8, csvLines.size());
+    assertEquals("map,status,route_length,time_spent,solve_nanos", csvLines.get(0));
+    assertTrue(csvLines.get(1).startsWith("closed.txt,NO_ROUTE,0,0.0,"));
+  }
+
+  /**
+   * Checks a map whose end can be reached is reported as a failure of the strategy, and not as a
+   * map without route, when the strategy doesn't find the route
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void solverFailedTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+--------+", "|   P    |", "+------- |", "|F       |",
+        "+--------+"));
+
+    List<MapResult> results = new BatchSolver(folder.resolve("greedy"), RouteStrategyType.GREEDY,
+        1).solve(List.of(mapPath));
+    assertEquals("SOLVER_FAILED", results.get(0).status());
+
+    results = new BatchSolver(folder.resolve("bfs"), RouteStrategyType.BREADTH_FIRST, 1)
+        .solve(List.of(mapPath));
+    assertEquals("SOLVED", results.get(0).status());
+    assertEquals(12, results.get(0).routeLength());
+  }
+
+  /**
+   * Checks a map without player gets its row in the results instead of aborting the batch
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void mapWithoutPlayerTest() throws IOException {
+    Path mapsFolder = Files.createDirectory(folder.resolve("maps"));
+    new MazeGenerator(MazeType.BRAIDED, 1).writeMaze(mapsFolder.resolve("maze.txt"), 41, 31);
+    Files.write(mapsFolder.resolve("no-player.txt"), List.of("+-----+", "|    F|", "+-----+"));
+
+    Path outputFolder = folder.resolve("solved");
+    List<MapResult> results = new BatchSolver(outputFolder, RouteStrategyType.BREADTH_FIRST, 2)
+        .solve(BatchSolver.findMaps(mapsFolder.toString()));
+
+    assertEquals("SOLVED", results.get(0).status());
+    assertEquals("INVALID_MAP", results.get(1).status());
+    List<String> csvLines = Files.readAllLines(outputFolder.resolve("results.csv"));
+    assertEquals(3, csvLines.size());
+    assertTrue(csvLines.get(2).startsWith("no-player.txt,INVALID_MAP,0,0.0,"));
+  }
+
+  /**
+   * Checks a binary map is written solved in the binary format, with the squares of its route
+   * travelled
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void solveBinaryMapTest() throws IOException {
+    Path asciiPath = folder.resolve("maze.txt");
+    Path binaryPath = folder.resolve("maze.lbm");
+    new MazeGenerator(MazeType.BRAIDED, 1).writeMaze(asciiPath, 41, 31);
+    MapConverter.convert(asciiPath, binaryPath);
+
+    Path outputFolder = folder.resolve("solved");
+    List<MapResult> results = new BatchSolver(outputFolder, RouteStrategyType.A_STAR, 1)
+        .solve(List.of(binaryPath));
+    assertEquals("SOLVED", results.get(0).status());
+
+    Path solvedPath = outputFolder.resolve("maze.lbm");
+    assertTrue(Files.size(solvedPath) * 3 < Files.size(asciiPath));
+    LabyrinthMap solved = new LabyrinthMap(solvedPath);
+    assertEquals(41, solved.getWidth());
+    assertEquals(results.get(0).routeLength(), solved.getElementCount(Element.TRAVELLED));
+  }
+
+  /**
+   * Checks the maps can be chosen with a glob of file names
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void findMapsGlobTest() throws IOException {
+    Files.writeString(folder.resolve("a-1.txt"), "");
+    Files.writeString(folder.resolve("a-2.txt"), "");
+    Files.writeString(folder.resolve("b-1.txt"), "");
+
+    assertEquals(List.of(folder.resolve("a-1.txt"), folder.resolve("a-2.txt")),
+        BatchSolver.findMaps(folder.resolve("a-*.txt").toString()));
+  }
+
+  /**
+   * Checks a folder gives its ASCII and binary maps, and not the other files
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void findMapsFolderTest() throws IOException {
+    Files.writeString(folder.resolve("a.txt"), "");
+    Files.writeString(folder.resolve("b.lbm"), "");
+    Files.writeString(folder.resolve("c.csv"), "");
+
+    assertEquals(List.of(folder.resolve("a.txt"), folder.resolve("b.lbm")),
+        BatchSolver.findMaps(folder.toString()));
+  }
+
+}
@@ -0,0 +1,134 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import app.labyrinth.model.Element;
+import app.labyrinth.model.LabyrinthFileManager;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.exceptions.MapException;
+import app.labyrinth.view.MapConverter;
+
+/**
+ * Tests for the binary map format (.lbm) and the MapConverter class
+ */
+class BinaryMapTests {
+
+  /**
+   * Path of the testing map
+   */
+  private static final Path TESTING_MAP_PATH = Path
+      .of("./src/test/resources/mapsfolder/testing-map.txt");
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks a map converted to the binary format and back has the same elements in every square
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void convertTestingMapTest() throws IOException {
+    Path binaryPath = folder.resolve("testing-map.lbm");
+    Path asciiPath = folder.resolve("testing-map.txt");
+    MapConverter.convert(TESTING_MAP_PATH, binaryPath);
+    MapConverter.convert(binaryPath, asciiPath);
+
+    LabyrinthMap original = new LabyrinthMap(TESTING_MAP_PATH);
+    assertSameElements(original, new LabyrinthMap(binaryPath));
+    assertSameElements(original, new LabyrinthMap(asciiPath));
+  }
+
+  /**
+   * Checks the binary format keeps every element and any size, also when the last byte of the
+   * cells is not full. Only the header is bigger than the cells of the smallest maps
+   * @param size Width and height of the map
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {5, 6, 41, 102})
+  void roundTripTest(int size) throws IOException {
+    Path asciiPath = folder.resolve("maze.txt");
+    new MazeGenerator(MazeType.BRAIDED, size).writeMaze(asciiPath, size, size + 2);
+    LabyrinthMap original = new LabyrinthMap(asciiPath);
+
+    // Some travelled squares too
+    Element[][] mapArray = original.getMapArray();
+    mapArray[1][2] = Element.TRAVELLED;
+    original.setMapArray(mapArray);
+
+    Path binaryPath = folder.resolve("maze.lbm");
+    LabyrinthFileManager.writeMap(binaryPath, original);
+    assertSameElements(original, new LabyrinthMap(binaryPath));
+    if (size > 10) {
+      assertTrue(Files.size(binaryPath) * 3 < Files.size(asciiPath));
+    }
+  }
+
+  /**
+   * Checks the lines of a binary map are the ASCII map it represents, with the obstacles drawn
+   * with their first representation
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void readBinaryMapLinesTest() throws IOException {
+    Path asciiPath = folder.resolve("map.txt");
+    Files.write(asciiPath, List.of("+--+", "|P*|", "| F|", "+--+"));
+    Path binaryPath = folder.resolve("map.lbm");
+    MapConverter.convert(asciiPath, binaryPath);
+
+    assertEquals(List.of("||||", "|P*|", "| F|", "||||"),
+        LabyrinthFileManager.readMapLines(binaryPath));
+  }
+
+  /**
+   * Checks a binary map is not read if any byte is changed, it's cut or it's not a binary map
+   * @param position Position of the byte changed, or -1 to cut the last byte
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {0, 4, 9, 20, 40, -1})
+  void corruptedBinaryMapTest(int position) throws IOException {
+    Path binaryPath = folder.resolve("map.lbm");
+    MapConverter.convert(TESTING_MAP_PATH, binaryPath);
+
+    byte[] bytes = Files.readAllBytes(binaryPath);
+    if (position == -1) {
+      bytes = Arrays.copyOf(bytes, bytes.length - 1);
+    } else {
+      bytes[position] ^= 0x10;
+    }
+    Files.write(binaryPath, bytes);
+
+    assertThrowsExactly(MapException.class, () -> new LabyrinthMap(binaryPath));
+  }
+
+  /**
+   * Checks two maps have the same size and elements
+   * @param expected Expected map
+   * @param actual Map to check
+   */
+  private static void assertSameElements(LabyrinthMap expected, LabyrinthMap actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int index = 0; index < expected.getCellCount(); index++) {
+      assertEquals(expected.getElementAt(index), actual.getElementAt(index));
+    }
+  }
+
+}
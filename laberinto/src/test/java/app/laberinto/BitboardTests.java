@@ -0,0 +1,89 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import app.labyrinth.model.Bitboard;
+import app.labyrinth.model.DistanceField;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.Game;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+
+/**
+ * Tests for the Bitboard class
+ */
+class BitboardTests {
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks the distance from every cell is the one of the breadth first search, and the end is
+   * reachable from the same cells. The rows of the mazes are several words long
+   * @param type Type of maze
+   * @throws IOException In case an error occurs writing the map
+   */
+  @ParameterizedTest
+  @EnumSource(MazeType.class)
+  void sameDistanceAsBreadthFirstTest(MazeType type) throws IOException {
+    for (int seed = 0; seed < 3; seed++) {
+      Path mapPath = folder.resolve("maze.txt");
+      new MazeGenerator(type, seed).writeMaze(mapPath, 151, 21);
+      LabyrinthMap map = new LabyrinthMap(mapPath);
+      Bitboard bitboard = map.getBitboard();
+      DistanceField distanceField = map.getDistanceField();
+      assertEquals(3 * 21, bitboard.getWordCount());
+
+      for (int cell = 0; cell < map.getCellCount(); cell++) {
+        int distance = distanceField.getDistance(cell);
+        assertEquals(!map.isObstacle(cell), bitboard.isPassable(cell));
+        assertEquals(distance, bitboard.getDistanceToEnd(cell));
+        assertEquals(distance != DistanceField.UNREACHABLE, bitboard.isEndReachable(cell));
+      }
+    }
+  }
+
+  /**
+   * Checks the end can't be reached from the cells closed by obstacles, and the game discards the
+   * map before calculating its route
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void unreachableEndTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+------+", "|P |   |", "|  |  F|", "+------+"));
+    Game game = new Game(mapPath);
+    Bitboard bitboard = game.getMap().getBitboard();
+
+    assertFalse(game.isEndReachable());
+    assertEquals(Bitboard.UNREACHABLE, bitboard.getDistanceToEnd(game.getMap().getIndex(2, 2)));
+    assertEquals(Bitboard.UNREACHABLE, bitboard.getDistanceToEnd(game.getMap().getIndex(3, 1)));
+    assertEquals(2, bitboard.getDistanceToEnd(game.getMap().getIndex(4, 1)));
+    assertEquals(0, bitboard.getDistanceToEnd(game.getMap().getIndex(6, 2)));
+
+    // The bitboard is kept until the map changes
+    assertSame(bitboard, game.getMap().getBitboard());
+    Element[][] mapArray = game.getMap().getMapArray();
+    mapArray[2][3] = Element.VOID;
+    game.getMap().setMapArray(mapArray);
+    assertNotSame(bitboard, game.getMap().getBitboard());
+    assertTrue(game.isEndReachable());
+    assertEquals(5, game.getMap().getBitboard().getDistanceToEnd(
+        game.getMap().getIndexOfElement(Element.PLAYER)));
+  }
+
+}
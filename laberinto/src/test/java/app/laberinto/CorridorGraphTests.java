@@ -0,0 +1,112 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.CorridorGraph;
+import app.labyrinth.model.CorridorGraphStrategy;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.MovementDirection;
+import app.labyrinth.model.RouteCostEvaluator;
+import app.labyrinth.model.TimeOptimalRouteSolver;
+
+/**
+ * Tests for the CorridorGraph and CorridorGraphStrategy classes
+ */
+class CorridorGraphTests {
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks a corridor with two turns is collapsed into one edge in each direction, with its
+   * length, its turns and the time of every way of entering it
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void corridorEdgesTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+------+", "|P    ||", "+----+ |", "+----|F|",
+        "+------+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    CorridorGraph graph = map.getCorridorGraph();
+
+    assertEquals(2, graph.getNodeCount());
+    assertEquals(2, graph.getEdgeCount());
+
+    int player = graph.getNodeOfCell(map.getIndexOfElement(Element.PLAYER));
+    int edge = graph.getFirstEdge(player);
+    assertEquals(edge + 1, graph.getEdgeLimit(player));
+    assertEquals(graph.getNodeOfCell(map.getIndexOfElement(Element.END)),
+        graph.getEdgeTarget(edge));
+    assertEquals(6, graph.getEdgeLength(edge));
+    assertEquals(2, graph.getEdgeTurns(edge));
+    assertEquals(MovementDirection.RIGHT, graph.getFirstDirection(edge));
+    assertEquals(MovementDirection.UP, graph.getLastDirection(edge));
+
+    // 4 squares to the right accelerating after the player's straight movement, and two turns.
+    // Entering with a turn, the acceleration starts again
+    assertEquals(10 + 9 + 8 + 7 + 10 + 10,
+        graph.getEdgeTenths(edge, MovementDirection.RIGHT, 1));
+    assertEquals(10 + 10 + 9 + 8 + 10 + 10, graph.getEdgeTenths(edge, MovementDirection.UP, 3));
+    assertEquals(1, graph.getExitMovements(edge, MovementDirection.RIGHT, 1));
+  }
+
+  /**
+   * Checks the graph is kept until the map changes
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void graphCacheTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+-----+", "|P   F|", "+-----+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    CorridorGraph graph = map.getCorridorGraph();
+    assertSame(graph, map.getCorridorGraph());
+
+    Element[][] mapArray = map.getMapArray();
+    mapArray[1][3] = Element.OBSTACLE;
+    map.setMapArray(mapArray);
+    assertNotSame(graph, map.getCorridorGraph());
+    assertEquals(4, map.getCorridorGraph().getNodeCount());
+  }
+
+  /**
+   * Checks the strategy finds a route as fast as the time optimal solver, going through the cells
+   * of the map one by one
+   * @param type Type of maze
+   * @throws IOException In case an error occurs writing the map
+   */
+  @ParameterizedTest
+  @EnumSource(MazeType.class)
+  void sameTimeAsTimeOptimalTest(MazeType type) throws IOException {
+    for (int seed = 0; seed < 5; seed++) {
+      Path mapPath = folder.resolve("maze.txt");
+      new MazeGenerator(type, seed).writeMaze(mapPath, 45, 31);
+      LabyrinthMap map = new LabyrinthMap(mapPath);
+
+      List<Coordinate> route = new CorridorGraphStrategy().calculateRoute(map);
+      TimeOptimalRouteSolverTests.assertValidRoute(map, route);
+      assertEquals(RouteCostEvaluator.getTotalTenths(
+          new TimeOptimalRouteSolver().calculateRoute(map)),
+          RouteCostEvaluator.getTotalTenths(route));
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.DistanceField;
+import app.labyrinth.model.DistanceFieldStrategy;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.SolverStatistics;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Tests for the DistanceField and DistanceFieldStrategy classes
+ */
+class DistanceFieldTests {
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks the route from every passable cell goes to the end through neighbour squares, with the
+   * distance of the cell as length, and it's as long as the breadth first route from that cell
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void routeFromEveryCellTest() throws IOException {
+    Path mapPath = folder.resolve("maze.txt");
+    new MazeGenerator(MazeType.BRAIDED, 5).writeMaze(mapPath, 31, 21);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    DistanceField distanceField = map.getDistanceField();
+    int player = map.getIndexOfElement(Element.PLAYER);
+
+    for (int i = 0; i < map.getPassableCellCount(); i++) {
+      int cell = map.getPassableCell(i);
+      List<Coordinate> route = distanceField.getRoute(cell);
+      assertEquals(distanceField.getDistance(cell) + 1, route.size());
+      assertEquals(map.getCoordinateOfIndex(cell), route.get(0));
+      assertEquals(map.getCoordinateOfElement(Element.END), route.get(route.size() - 1));
+      for (int j = 1; j < route.size(); j++) {
+        assertEquals(1, Math.max(Math.abs(route.get(j - 1).x() - route.get(j).x()),
+            Math.abs(route.get(j - 1).y() - route.get(j).y())));
+        assertNotEquals(Element.OBSTACLE, map.getElementAtCoordinate(route.get(j)));
+      }
+
+      // The player is moved to the cell to compare with the breadth first strategy
+      if (map.getElementAt(cell) == Element.VOID) {
+        Element[][] mapArray = map.getMapArray();
+        mapArray[map.getY(player)][map.getX(player)] = Element.VOID;
+        mapArray[map.getY(cell)][map.getX(cell)] = Element.PLAYER;
+        LabyrinthMap movedMap = new LabyrinthMap(mapPath);
+        movedMap.setMapArray(mapArray);
+        assertEquals(new BreadthFirstStrategy().calculateRoute(movedMap).size(), route.size());
+      }
+    }
+  }
+
+  /**
+   * Checks the field is kept until the map changes, and there is no route from the cells that
+   * can't reach the end
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void unreachableAndCacheTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+------+", "|P |  F|", "+------+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    DistanceField distanceField = map.getDistanceField();
+    assertSame(distanceField, map.getDistanceField());
+
+    assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(map.getIndex(1, 1)));
+    assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(map.getIndex(3, 1)));
+    assertEquals(2, distanceField.getDistance(map.getIndex(4, 1)));
+    assertThrowsExactly(GameException.class,
+        () -> new DistanceFieldStrategy().calculateRoute(map));
+
+    Element[][] mapArray = map.getMapArray();
+    mapArray[1][3] = Element.VOID;
+    map.setMapArray(mapArray);
+    assertNotSame(distanceField, map.getDistanceField());
+    assertEquals(List.of(new Coordinate(1, 1), new Coordinate(2, 1), new Coordinate(3, 1),
+        new Coordinate(4, 1), new Coordinate(5, 1), new Coordinate(6, 1)),
+        new DistanceFieldStrategy().calculateRoute(map));
+  }
+
+  /**
+   * Checks the cells and neighbours of the search are counted by the calculation that finds the
+   * field, and not by the next ones on the same map
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void statisticsTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+------+", "|P    F|", "+------+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    SolverStatistics statistics = new SolverStatistics();
+    new DistanceFieldStrategy().calculateRoute(map, statistics);
+    assertEquals(6, statistics.getNodesExpanded());
+    assertEquals(10, statistics.getNeighbourChecks());
+
+    SolverStatistics cachedStatistics = new SolverStatistics();
+    new DistanceFieldStrategy().calculateRoute(map, cachedStatistics);
+    assertEquals(0, cachedStatistics.getNodesExpanded());
+    assertEquals(0, cachedStatistics.getNeighbourChecks());
+  }
+
+}
@@ -0,0 +1,93 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Game;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests for the Java Flight Recorder events of the game
+ */
+class FlightRecorderEventsTests {
+
+  /**
+   * Path of the testing map
+   */
+  private static final Path TESTING_MAP_PATH = Path
+      .of("./src/test/resources/mapsfolder/testing-map.txt");
+
+  /**
+   * Folder where the recording is dumped
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks a game records the load of the map, the route calculation and the route score with
+   * their values
+   * @throws IOException In case the recording can't be dumped or read
+   */
+  @Test
+  void gameEventsTest() throws IOException {
+    Path recordingPath = folder.resolve("game.jfr");
+
+    double timeSpent;
+    try (Recording recording = new Recording()) {
+      recording.enable("app.labyrinth.MapLoad");
+      recording.enable("app.labyrinth.RouteCalculation");
+      recording.enable("app.labyrinth.RouteScore");
+      recording.start();
+
+      Game game = new Game(TESTING_MAP_PATH, new BreadthFirstStrategy());
+      game.calculateRoute();
+      timeSpent = game.getTotalTimeSpent();
+
+      recording.stop();
+      recording.dump(recordingPath);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+
+    RecordedEvent mapLoad = getEvent(events, "app.labyrinth.MapLoad");
+    assertEquals(TESTING_MAP_PATH.toString(), mapLoad.getString("path"));
+    assertEquals(3, mapLoad.getInt("rows"));
+    assertEquals(11, mapLoad.getInt("columns"));
+    assertTrue(mapLoad.getLong("bytes") >= 33);
+
+    RecordedEvent routeCalculation = getEvent(events, "app.labyrinth.RouteCalculation");
+    assertEquals("BreadthFirstStrategy", routeCalculation.getString("strategy"));
+    assertEquals(TESTING_MAP_PATH.toString(), routeCalculation.getString("map"));
+    assertEquals(33, routeCalculation.getInt("cells"));
+    assertEquals(6, routeCalculation.getInt("routeLength"));
+    assertTrue(routeCalculation.getLong("nodesExpanded") > 0);
+
+    RecordedEvent routeScore = getEvent(events, "app.labyrinth.RouteScore");
+    assertEquals(6, routeScore.getInt("routeLength"));
+    assertEquals(5.0, timeSpent);
+    assertEquals(timeSpent, routeScore.getDouble("timeSpent"));
+  }
+
+  /**
+   * Gets the only event of a type
+   * @param events Events recorded
+   * @param name Name of the type of the event
+   * @return The event of the type
+   */
+  private static RecordedEvent getEvent(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> found = events.stream()
+        .filter(event -> event.getEventType().getName().equals(name)).toList();
+    assertEquals(1, found.size());
+    return found.get(0);
+  }
+
+}
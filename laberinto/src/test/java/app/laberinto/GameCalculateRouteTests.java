@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import app.labyrinth.model.Coordinate;
 import app.labyrinth.model.Element;
 import app.labyrinth.model.Game;
+import app.labyrinth.model.SolverStatistics;
+import app.labyrinth.model.SolverStatistics.Phase;
 
 /**
  * Tests for the calculateRoute method of the class Game
@@ -45,5 +47,40 @@ class GameCalculateRouteTests {
     
     
   }
+  
+  /**
+   * Checks the statistics of the route calculation of the testing map, where the player goes
+   * straight to the end expanding every square of the route but the end
+   */
+  @Test
+  void straightRouteStatisticsTest() {
+    Game game = new Game(TESTING_MAP_PATH);
+    game.calculateRoute();
+    
+    SolverStatistics statistics = game.getStatistics();
+    assertEquals(5, statistics.getNodesExpanded());
+    assertEquals(0, statistics.getBacktracks());
+    assertEquals(6, statistics.getPeakRouteLength());
+    assertEquals(0, statistics.getPhaseNanos(Phase.BACKTRACKING));
+    assertTrue(statistics.getNeighbourChecks() >= statistics.getNodesExpanded());
+  }
+  
+  /**
+   * Checks the statistics of the route calculation of the labyrinth of the App, where the player
+   * finds dead ends and has to go back
+   */
+  @Test
+  void backtrackingStatisticsTest() {
+    Game game = new Game(Path.of("labyrinth.txt"));
+    game.calculateRoute();
+    
+    SolverStatistics statistics = game.getStatistics();
+    assertTrue(statistics.getBacktracks() > 0);
+    assertTrue(statistics.getPeakRouteLength() > game.getRoute().size());
+    assertTrue(statistics.getNodesExpanded() >= game.getRoute().size() - 1);
+    assertTrue(statistics.getPhaseNanos(Phase.SEARCH) > 0);
+    assertTrue(statistics.getPhaseNanos(Phase.BACKTRACKING) > 0);
+    assertTrue(statistics.getTotalNanos() <= game.getTimeSpentCalculatingRoute());
+  }
 
 }
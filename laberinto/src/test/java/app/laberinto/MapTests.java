@@ -3,17 +3,25 @@ package app.laberinto;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import app.labyrinth.model.Coordinate;
 import app.labyrinth.model.Element;
 import app.labyrinth.model.LabyrinthFileManager;
 import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
 import app.labyrinth.model.MovementDirection;
 import app.labyrinth.model.exceptions.MapException;
 
@@ -27,6 +35,12 @@ class MapTests {
    */
   private static final Path TESTING_MAP_PATH = Path
       .of("./src/test/resources/mapsfolder/testing-map.txt");
+  
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
 
   /**
    * Proves that the constructor doesn't create a map with a non-existent file.
@@ -46,6 +60,23 @@ class MapTests {
     assertDoesNotThrow(() -> new LabyrinthMap(TESTING_MAP_PATH));
   }
   
+  /**
+   * Checks the route is drawn over the lines of the map, ignoring the coordinates out of it,
+   * without modifying the original lines
+   * @throws IOException In case an error occurs during the process
+   */
+  @Test
+  void solvedMapLinesTest() throws IOException {
+    List<String> mapLines = LabyrinthFileManager.readMapLines(TESTING_MAP_PATH);
+    List<Coordinate> route = List.of(new Coordinate(4, 1), new Coordinate(5, 1), 
+        new Coordinate(6, 1), new Coordinate(20, 1));
+    
+    List<String> solvedLines = LabyrinthFileManager.getSolvedMapLines(mapLines, route);
+    
+    assertEquals(List.of("+---------+\n", "|******  F|\n", "+---------+\n"), solvedLines);
+    assertEquals("|***P    F|", mapLines.get(1));
+  }
+  
   /**
    * Checks if the size of the given map for testing is correct
    * @throws IOException In case an error occurs during the process
@@ -118,4 +149,178 @@ class MapTests {
     assertEquals(Element.TRAVELLED, surroundingElements.get(MovementDirection.LEFT));
   }
   
+  /**
+   * Checks the index based accessors address the same cells than the coordinate ones
+   */
+  @Test
+  void indexAccessorsTest() {
+    LabyrinthMap map = new LabyrinthMap(TESTING_MAP_PATH);
+    
+    assertEquals(11, map.getWidth());
+    assertEquals(3, map.getHeight());
+    assertEquals(33, map.getCellCount());
+    
+    // Every cell must be the same using the index or the coordinate
+    for (int i = 0; i < map.getCellCount(); i++) {
+      Coordinate coordinate = map.getCoordinateOfIndex(i);
+      assertEquals(i, map.getIndexOfCoordinate(coordinate));
+      assertEquals(i, map.getIndex(map.getX(i), map.getY(i)));
+      assertEquals(map.getElementAtCoordinate(coordinate), map.getElementAt(i));
+    }
+    
+    // A column out of the map mustn't be read from the next row
+    assertThrows(IndexOutOfBoundsException.class, 
+        () -> map.getElementAtCoordinate(new Coordinate(11, 0)));
+  }
+  
+  /**
+   * Checks the map array is packed and unpacked without changing any element
+   */
+  @Test
+  void mapArrayPackingTest() {
+    LabyrinthMap map = new LabyrinthMap(TESTING_MAP_PATH);
+    
+    Element[][] mapArray = map.getMapArray();
+    mapArray[1][5] = Element.OBSTACLE;
+    map.setMapArray(mapArray);
+    
+    assertEquals(Element.OBSTACLE, map.getElementAtCoordinate(new Coordinate(5, 1)));
+    assertArrayEquals(mapArray, map.getMapArray());
+  }
+  
+  /**
+   * Checks the passable neighbours of a cell are the surrounding elements that are not obstacles
+   */
+  @Test
+  void getPassableNeighboursTest() {
+    LabyrinthMap map = new LabyrinthMap(TESTING_MAP_PATH);
+    int player = map.getIndexOfCoordinate(map.getCoordinateOfElement(Element.PLAYER));
+    
+    int[] buffer = new int[8];
+    int count = map.getPassableNeighbours(player, buffer);
+    
+    // Only LEFT and RIGHT, in the order of the directions
+    assertEquals(2, count);
+    assertEquals(map.getIndex(5, 1), buffer[0]);
+    assertEquals(map.getIndex(3, 1), buffer[1]);
+    assertEquals((1 << MovementDirection.RIGHT.ordinal()) | (1 << MovementDirection.LEFT.ordinal()),
+        map.getPassableMask(player));
+    
+    // The neighbours of a corner of the map are only the ones inside it
+    assertEquals(1, map.getPassableNeighbours(0, buffer));
+    assertEquals(map.getIndex(1, 1), buffer[0]);
+  }
+  
+  /**
+   * Checks the element index built when the map is loaded and kept when the map array changes
+   */
+  @Test
+  void elementIndexTest() {
+    LabyrinthMap map = new LabyrinthMap(TESTING_MAP_PATH);
+    
+    assertEquals(1, map.getElementCount(Element.PLAYER));
+    assertEquals(1, map.getElementCount(Element.END));
+    assertEquals(3, map.getElementCount(Element.TRAVELLED));
+    assertEquals(4, map.getElementCount(Element.VOID));
+    assertEquals(9, map.getPassableCellCount());
+    assertEquals(map.getIndex(1, 1), map.getPassableCell(0));
+    assertEquals(map.getIndex(9, 1), map.getIndexOfElement(Element.END));
+    
+    // Moves the end and checks the index follows it
+    Element[][] mapArray = map.getMapArray();
+    mapArray[1][9] = Element.OBSTACLE;
+    mapArray[1][8] = Element.END;
+    map.setMapArray(mapArray);
+    
+    assertEquals(new Coordinate(8, 1), map.getCoordinateOfElement(Element.END));
+    assertEquals(8, map.getPassableCellCount());
+    assertThrowsExactly(MapException.class, () -> map.getIndexOfElement(Element.VOID));
+  }
+  
+  /**
+   * Checks the map file is read the same way whatever the line breaks are, with or without the
+   * last one, and the characters after the width of the first line are ignored
+   * @param content Content of the map file
+   * @throws IOException In case an error occurs writing the file
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"+--+\n|PF|\n+--+\n", "+--+\r\n|PF|\r\n+--+", "+--+\r|PF|\r+--+\r",
+      "+--+\n|PF|  \r\n+--+---", "+--+\n|PF|\n+--+"})
+  void lineBreaksTest(String content) throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.writeString(mapPath, content);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    
+    assertEquals(4, map.getWidth());
+    assertEquals(3, map.getHeight());
+    assertEquals(new Coordinate(1, 1), map.getCoordinateOfElement(Element.PLAYER));
+    assertEquals(new Coordinate(2, 1), map.getCoordinateOfElement(Element.END));
+    assertEquals(Element.OBSTACLE, map.getElementAtCoordinate(new Coordinate(3, 2)));
+  }
+  
+  /**
+   * Checks a map file is not read if it's empty or a line is shorter than the first one, as an
+   * empty line after the last line break
+   * @param content Content of the map file
+   * @throws IOException In case an error occurs writing the file
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"", "+--+\n|PF\n+--+\n", "+--+\n|PF|\n+--+\n\n"})
+  void invalidMapFileTest(String content) throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.writeString(mapPath, content);
+    
+    assertThrowsExactly(MapException.class, () -> new LabyrinthMap(mapPath));
+  }
+  
+  /**
+   * Checks a map with characters out of ASCII is read counting every character as one square,
+   * and the ones that are not elements as obstacles
+   * @throws IOException In case an error occurs writing the file
+   */
+  @Test
+  void nonAsciiMapFileTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.writeString(mapPath, "\u2588\u2588\u2588\u2588\n\u2588P F\n\u2588\u2588\u2588\u2588\n",
+        StandardCharsets.UTF_8);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    
+    assertEquals(4, map.getWidth());
+    assertEquals(3, map.getHeight());
+    assertEquals(Element.OBSTACLE, map.getElementAtCoordinate(new Coordinate(0, 1)));
+    assertEquals(Element.VOID, map.getElementAtCoordinate(new Coordinate(2, 1)));
+    assertEquals(new Coordinate(3, 1), map.getCoordinateOfElement(Element.END));
+  }
+  
+  /**
+   * Checks a map file big enough to be decoded in parallel is read the same way as line by line,
+   * with any line break, and also when a line is longer than the first one and it can't be
+   * decoded in parallel
+   * @param lineBreak Line break of the map file
+   * @throws IOException In case an error occurs writing the file
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"\n", "\r\n", "\r", "long line"})
+  void bigMapFileTest(String lineBreak) throws IOException {
+    StringWriter maze = new StringWriter();
+    new MazeGenerator(MazeType.BRAIDED, 7).writeMaze(maze, 3001, 3001);
+    String content = lineBreak.equals("long line")
+        ? maze.toString().replaceFirst("\n(.*)\n", "\n$1--\n")
+        : maze.toString().replace("\n", lineBreak);
+
+    Path mapPath = folder.resolve("map.txt");
+    Files.writeString(mapPath, content);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    List<String> lines = LabyrinthFileManager.readMapLines(mapPath);
+    assertEquals(lines.get(0).length(), map.getWidth());
+    assertEquals(lines.size(), map.getHeight());
+    for (int y = 0; y < map.getHeight(); y++) {
+      for (int x = 0; x < map.getWidth(); x++) {
+        assertEquals(Element.fromSymbol(lines.get(y).charAt(x)),
+            map.getElementAt(map.getIndex(x, y)));
+      }
+    }
+  }
+  
 }
@@ -0,0 +1,147 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Tests for the MazeGenerator class
+ */
+class MazeGeneratorTests {
+
+  /**
+   * Folder where the mazes are written
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks the same seed gives the same maze and a different seed a different one
+   * @throws IOException In case an error occurs writing the mazes
+   */
+  @Test
+  void seededMazeTest() throws IOException {
+    assertEquals(generate(MazeType.BRAIDED, 1, 41, 31), generate(MazeType.BRAIDED, 1, 41, 31));
+    assertNotEquals(generate(MazeType.BRAIDED, 1, 41, 31), generate(MazeType.BRAIDED, 2, 41, 31));
+  }
+
+  /**
+   * Checks every kind of maze, even with an even width, is read by the map with the player and the
+   * end in the corners and a route between them. The mazes of rooms leave the last column of an
+   * even width as a wall
+   * @param type Kind of maze
+   * @throws IOException In case an error occurs writing the maze
+   */
+  @ParameterizedTest
+  @EnumSource(MazeType.class)
+  void mapFormatTest(MazeType type) throws IOException {
+    Path mapPath = folder.resolve(type + ".txt");
+    new MazeGenerator(type, 7).writeMaze(mapPath, 60, 45);
+
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    assertEquals(60, map.getWidth());
+    assertEquals(45, map.getHeight());
+    assertEquals(new Coordinate(1, 1), map.getCoordinateOfElement(Element.PLAYER));
+    int endX = (type == MazeType.OPEN_ROOMS) ? 58 : 57;
+    assertEquals(new Coordinate(endX, 43), map.getCoordinateOfElement(Element.END));
+
+    TimeOptimalRouteSolverTests.assertValidRoute(map,
+        new BreadthFirstStrategy().calculateRoute(map));
+  }
+
+  /**
+   * Checks a perfect maze is a tree: all the rooms are connected and there is one passage less
+   * than rooms
+   * @throws IOException In case an error occurs writing the maze
+   */
+  @Test
+  void perfectMazeTest() throws IOException {
+    Path mapPath = folder.resolve("perfect.txt");
+    new MazeGenerator(MazeType.PERFECT, 3).writeMaze(mapPath, 51, 41);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    int rooms = 25 * 20;
+    assertEquals(2 * rooms - 1, map.getPassableCellCount());
+
+    // All the passable squares are reached from the player
+    BitSet reached = new BitSet(map.getCellCount());
+    Deque<Integer> cells = new ArrayDeque<>();
+    int[] neighbours = new int[8];
+    cells.add(map.getIndexOfElement(Element.PLAYER));
+    reached.set(cells.peek());
+    while (!cells.isEmpty()) {
+      int count = map.getPassableNeighbours(cells.poll(), neighbours);
+      for (int i = 0; i < count; i++) {
+        if (!reached.get(neighbours[i])) {
+          reached.set(neighbours[i]);
+          cells.add(neighbours[i]);
+        }
+      }
+    }
+    assertEquals(map.getPassableCellCount(), reached.cardinality());
+  }
+
+  /**
+   * Checks a maze smaller than the minimum size is not generated
+   */
+  @Test
+  void invalidSizeTest() {
+    assertThrowsExactly(MapException.class, () -> generate(MazeType.PERFECT, 1, 2, 10));
+    assertThrowsExactly(MapException.class, () -> generate(MazeType.PERFECT, 1,
+        MazeGenerator.MIN_SIZE - 1, MazeGenerator.MIN_SIZE - 1));
+  }
+
+  /**
+   * Checks the smallest maze of every kind has the player and the end in different squares and a
+   * route between them
+   * @param type Kind of maze
+   * @throws IOException In case an error occurs writing the maze
+   */
+  @ParameterizedTest
+  @EnumSource(MazeType.class)
+  void minimumSizeTest(MazeType type) throws IOException {
+    Path mapPath = folder.resolve(type + ".txt");
+    new MazeGenerator(type, 1).writeMaze(mapPath, MazeGenerator.MIN_SIZE, MazeGenerator.MIN_SIZE);
+
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    assertEquals(1, map.getElementCount(Element.PLAYER));
+    assertEquals(1, map.getElementCount(Element.END));
+    TimeOptimalRouteSolverTests.assertValidRoute(map,
+        new BreadthFirstStrategy().calculateRoute(map));
+  }
+
+  /**
+   * Generates a maze in memory
+   * @param type Kind of maze
+   * @param seed Seed of the maze
+   * @param width Width of the maze
+   * @param height Height of the maze
+   * @return The text of the maze
+   * @throws IOException In case an error occurs writing the maze
+   */
+  private static String generate(MazeType type, long seed, int width, int height)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new MazeGenerator(type, seed).writeMaze(writer, width, height);
+    return writer.toString();
+  }
+
+}
@@ -0,0 +1,190 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import app.labyrinth.model.BidirectionalBreadthFirstStrategy;
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.CorridorGraphStrategy;
+import app.labyrinth.model.DistanceFieldStrategy;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.Game;
+import app.labyrinth.model.GreedyDepthFirstStrategy;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.RouteCostEvaluator;
+import app.labyrinth.model.RouteStrategyType;
+import app.labyrinth.model.TimeOptimalRouteSolver;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Tests for the maps with several ends
+ */
+class MultiExitTests {
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks every strategy reaches one of the ends, and the searches with the best routes find the
+   * best of the routes to every end alone. The maps have few ends (estimated one by one) and many
+   * ends (not estimated)
+   * @param exits Number of ends added to the maze
+   * @throws IOException In case an error occurs writing the map
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {3, 40})
+  void nearestExitTest(int exits) throws IOException {
+    for (int seed = 0; seed < 3; seed++) {
+      LabyrinthMap map = createMaze(seed, exits);
+      assertEquals(exits + 1, map.getIndexesOfElement(Element.END).length);
+
+      for (RouteStrategyType type : RouteStrategyType.values()) {
+        TimeOptimalRouteSolverTests.assertValidRoute(map, type.create().calculateRoute(map));
+      }
+
+      int squares = getBestOfEveryEnd(map, alone -> new BreadthFirstStrategy()
+          .calculateRoute(alone).size());
+      assertEquals(squares, new BreadthFirstStrategy().calculateRoute(map).size());
+      assertEquals(squares, new BidirectionalBreadthFirstStrategy().calculateRoute(map).size());
+      assertEquals(squares, new DistanceFieldStrategy().calculateRoute(map).size());
+
+      int tenths = getBestOfEveryEnd(map, alone -> RouteCostEvaluator.getTotalTenths(
+          new TimeOptimalRouteSolver().calculateRoute(alone)));
+      assertEquals(tenths, RouteCostEvaluator.getTotalTenths(
+          new TimeOptimalRouteSolver().calculateRoute(map)));
+      assertEquals(tenths, RouteCostEvaluator.getTotalTenths(
+          new CorridorGraphStrategy().calculateRoute(map)));
+    }
+  }
+
+  /**
+   * Checks the greedy strategy is still guided to the nearest end when there are more ends than
+   * the ones estimated by the optimal searches
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void greedyWithManyEndsTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    String wall = "+" + "-".repeat(40) + "+";
+    String empty = "|" + " ".repeat(40) + "|";
+    List<String> lines = new ArrayList<>(Collections.nCopies(12, empty));
+    lines.set(0, wall);
+    lines.set(11, wall);
+    lines.set(2, "|" + " ".repeat(30) + "P" + " ".repeat(9) + "|");
+    lines.set(10, "|" + "F".repeat(20) + " ".repeat(20) + "|");
+    Files.write(mapPath, lines);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    assertEquals(20, map.getIndexesOfElement(Element.END).length);
+
+    List<Coordinate> route = new GreedyDepthFirstStrategy().calculateRoute(map);
+    TimeOptimalRouteSolverTests.assertValidRoute(map, route);
+    assertTrue(route.size() <= 2 * new BreadthFirstStrategy().calculateRoute(map).size());
+  }
+
+  /**
+   * Checks the distance of every cell is the one to its nearest end
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void distanceToNearestEndTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+--------+", "|F  P   F|", "+--------+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    assertEquals(0, map.getDistanceField().getDistance(map.getIndex(1, 1)));
+    assertEquals(2, map.getDistanceField().getDistance(map.getIndex(3, 1)));
+    assertEquals(2, map.getDistanceField().getDistance(map.getIndex(6, 1)));
+    assertEquals(0, map.getDistanceField().getDistance(map.getIndex(8, 1)));
+    assertEquals(List.of(new Coordinate(4, 1), new Coordinate(3, 1), new Coordinate(2, 1),
+        new Coordinate(1, 1)), new DistanceFieldStrategy().calculateRoute(map));
+  }
+
+  /**
+   * Checks the time spent is calculated for a route to any of the ends, and not for a route that
+   * doesn't reach one
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void totalTimeSpentTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+--------+", "|F  P   F|", "+--------+"));
+    Game game = new Game(mapPath);
+
+    List<Coordinate> route = List.of(new Coordinate(4, 1), new Coordinate(5, 1),
+        new Coordinate(6, 1), new Coordinate(7, 1), new Coordinate(8, 1));
+    game.setRoute(route);
+    assertEquals(RouteCostEvaluator.getTotalTenths(route) / 10.0, game.getTotalTimeSpent(), 1e-9);
+
+    game.setRoute(route.subList(0, 4));
+    assertThrowsExactly(GameException.class, game::getTotalTimeSpent);
+  }
+
+  /**
+   * Gets the best value of the routes to every end of the map alone
+   * @param map Map with several ends
+   * @param routeValue Value of the route of a map with only one end
+   * @return The smallest value of all the ends
+   */
+  private int getBestOfEveryEnd(LabyrinthMap map, ToIntFunction<LabyrinthMap> routeValue) {
+    int[] ends = map.getIndexesOfElement(Element.END);
+    int best = Integer.MAX_VALUE;
+
+    for (int end : ends) {
+      Element[][] mapArray = map.getMapArray();
+      for (int other : ends) {
+        if (other != end) {
+          mapArray[map.getY(other)][map.getX(other)] = Element.VOID;
+        }
+      }
+      LabyrinthMap alone = new LabyrinthMap(folder.resolve("maze.txt"));
+      alone.setMapArray(mapArray);
+      best = Math.min(best, routeValue.applyAsInt(alone));
+    }
+    return best;
+  }
+
+  /**
+   * Generates a braided maze and adds ends in some of its void cells
+   * @param seed Seed of the maze
+   * @param exits Number of ends to add
+   * @return The maze
+   * @throws IOException In case an error occurs writing the maze
+   */
+  private LabyrinthMap createMaze(int seed, int exits) throws IOException {
+    Path mapPath = folder.resolve("maze.txt");
+    new MazeGenerator(MazeType.BRAIDED, seed).writeMaze(mapPath, 45, 31);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    Element[][] mapArray = map.getMapArray();
+    int added = 0;
+    int step = map.getPassableCellCount() / (exits + 1);
+    for (int i = step; added < exits; i += step) {
+      int cell = map.getPassableCell(i);
+      if (map.getElementAt(cell) == Element.VOID) {
+        mapArray[map.getY(cell)][map.getX(cell)] = Element.END;
+        added++;
+      }
+    }
+    map.setMapArray(mapArray);
+    return map;
+  }
+
+}
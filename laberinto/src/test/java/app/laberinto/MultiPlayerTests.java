@@ -0,0 +1,132 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.MultiPlayerSolver;
+import app.labyrinth.model.MultiPlayerSolver.PlayerRoute;
+import app.labyrinth.model.MultiPlayerSolver.Report;
+import app.labyrinth.model.RouteCostEvaluator;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Tests for the MultiPlayerSolver class
+ */
+class MultiPlayerTests {
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks all the players of a map are found in order, and the first one is still the one given
+   * as the player of the map
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void playerIndexesTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+-----+", "|P  P |", "| P  F|", "+-----+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    assertArrayEquals(new int[] {map.getIndex(1, 1), map.getIndex(4, 1), map.getIndex(2, 2)},
+        map.getIndexesOfElement(Element.PLAYER));
+    assertArrayEquals(new int[] {map.getIndex(5, 2)}, map.getIndexesOfElement(Element.END));
+    assertEquals(map.getIndex(1, 1), map.getIndexOfElement(Element.PLAYER));
+    assertThrowsExactly(MapException.class, () -> map.getIndexesOfElement(Element.OBSTACLE));
+  }
+
+  /**
+   * Checks every player of a maze gets a route to the end as short as the breadth first route of
+   * that player alone, with the time spent following it
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void routeOfEveryPlayerTest() throws IOException {
+    Path mapPath = folder.resolve("maze.txt");
+    new MazeGenerator(MazeType.BRAIDED, 3).writeMaze(mapPath, 31, 21);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    // Some more players are put in void cells of the maze
+    Element[][] mapArray = map.getMapArray();
+    int added = 0;
+    for (int i = 0; i < map.getPassableCellCount() && added < 4; i += 37) {
+      int cell = map.getPassableCell(i);
+      if (map.getElementAt(cell) == Element.VOID) {
+        mapArray[map.getY(cell)][map.getX(cell)] = Element.PLAYER;
+        added++;
+      }
+    }
+    map.setMapArray(mapArray);
+    int[] players = map.getIndexesOfElement(Element.PLAYER);
+    assertEquals(5, players.length);
+
+    Report report = new MultiPlayerSolver().solve(map);
+    assertEquals(players.length, report.routes().size());
+    assertEquals(players.length, report.getReachedCount());
+
+    for (int i = 0; i < players.length; i++) {
+      PlayerRoute playerRoute = report.routes().get(i);
+      List<Coordinate> route = playerRoute.route();
+      assertEquals(map.getCoordinateOfIndex(players[i]), playerRoute.player());
+      assertEquals(playerRoute.player(), route.get(0));
+      assertEquals(map.getCoordinateOfElement(Element.END), route.get(route.size() - 1));
+      assertEquals(RouteCostEvaluator.getTotalTenths(route) / 10.0, playerRoute.timeSpent(),
+          1e-9);
+
+      // The player alone in the map has a breadth first route of the same length
+      Element[][] aloneArray = map.getMapArray();
+      for (int other : players) {
+        if (other != players[i]) {
+          aloneArray[map.getY(other)][map.getX(other)] = Element.VOID;
+        }
+      }
+      LabyrinthMap aloneMap = new LabyrinthMap(mapPath);
+      aloneMap.setMapArray(aloneArray);
+      assertEquals(new BreadthFirstStrategy().calculateRoute(aloneMap).size(), route.size());
+    }
+  }
+
+  /**
+   * Checks a player that can't reach the end gets no route, and the report only counts the others
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void unreachablePlayerTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+-------+", "|P |P  F|", "|  | P  |", "+-------+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    Report report = new MultiPlayerSolver().solve(map);
+    assertEquals(3, report.routes().size());
+    assertEquals(2, report.getReachedCount());
+
+    PlayerRoute closed = report.routes().get(0);
+    assertEquals(new Coordinate(1, 1), closed.player());
+    assertFalse(closed.isReached());
+    assertEquals(0, closed.timeSpent());
+
+    double first = report.routes().get(1).timeSpent();
+    double second = report.routes().get(2).timeSpent();
+    assertTrue(first > 0 && second > 0);
+    assertEquals(Math.max(first, second), report.getMaxTimeSpent());
+    assertEquals((first + second) / 2, report.getAverageTimeSpent(), 1e-9);
+    assertEquals(report.searchNanos() + report.routesNanos(), report.getTotalNanos());
+  }
+
+}
@@ -0,0 +1,118 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.OffHeapGrid;
+import app.labyrinth.model.OffHeapRouteSolver;
+import app.labyrinth.model.exceptions.GameException;
+import app.labyrinth.model.exceptions.MapException;
+
+/**
+ * Tests for the OffHeapGrid and OffHeapRouteSolver classes
+ */
+class OffHeapGridTests {
+
+  /**
+   * Folder where the maps and the grids written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Checks a map converted to a grid file has the same elements, and the file can be opened again
+   * only to read it
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void gridFileTest() throws IOException {
+    Path mapPath = folder.resolve("maze.txt");
+    new MazeGenerator(MazeType.OPEN_ROOMS, 3).writeMaze(mapPath, 50, 30);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    Path gridPath = folder.resolve("maze.lbg");
+    OffHeapGrid.fromMapFile(mapPath, gridPath);
+    OffHeapGrid grid = OffHeapGrid.open(gridPath);
+
+    assertEquals(50, grid.getWidth());
+    assertEquals(30, grid.getHeight());
+    for (int index = 0; index < map.getCellCount(); index++) {
+      assertEquals(map.getElementAt(index), grid.getElementAt(index));
+    }
+    assertEquals(map.getIndexOfElement(Element.END), grid.findFirst(Element.END));
+    assertThrows(ReadOnlyBufferException.class, () -> grid.setElementAt(0, Element.VOID));
+  }
+
+  /**
+   * Checks a file that is not a grid file, or whose size is not the one of its header, is not
+   * opened
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void invalidGridFileTest() throws IOException {
+    Path gridPath = folder.resolve("maze.lbg");
+    Files.writeString(gridPath, "+--+\n|PF|\n+--+\n");
+    assertThrowsExactly(MapException.class, () -> OffHeapGrid.open(gridPath));
+
+    OffHeapGrid.create(gridPath, 4, 3).force();
+    Files.write(gridPath, new byte[] {0}, StandardOpenOption.APPEND);
+    assertThrowsExactly(MapException.class, () -> OffHeapGrid.open(gridPath));
+  }
+
+  /**
+   * Checks the solver finds the same route as the breadth first strategy with the map in the heap
+   * @throws IOException In case an error occurs reading or writing the files
+   */
+  @Test
+  void sameRouteAsBreadthFirstTest() throws IOException {
+    Path mapPath = folder.resolve("maze.txt");
+    new MazeGenerator(MazeType.BRAIDED, 11).writeMaze(mapPath, 61, 41);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+    List<Coordinate> expectedRoute = new BreadthFirstStrategy().calculateRoute(map);
+
+    OffHeapGrid grid = OffHeapGrid.fromMapFile(mapPath, folder.resolve("maze.lbg"));
+    long[] route = new OffHeapRouteSolver().calculateRoute(grid);
+
+    assertEquals(expectedRoute.size(), route.length);
+    for (int i = 0; i < route.length; i++) {
+      assertEquals(expectedRoute.get(i).x(), grid.getX(route[i]));
+      assertEquals(expectedRoute.get(i).y(), grid.getY(route[i]));
+    }
+  }
+
+  /**
+   * Checks the solver works with a grid allocated in direct memory, and it doesn't find a route
+   * if the end is closed by walls or there is no end
+   */
+  @Test
+  void allocatedGridTest() {
+    OffHeapGrid grid = OffHeapGrid.allocate(6, 3);
+    grid.setElementAt(grid.getIndex(0, 1), Element.PLAYER);
+    grid.setElementAt(grid.getIndex(5, 1), Element.END);
+    assertEquals(6, new OffHeapRouteSolver().calculateRoute(grid).length);
+
+    for (int y = 0; y < 3; y++) {
+      grid.setElementAt(grid.getIndex(3, y), Element.OBSTACLE);
+    }
+    assertThrowsExactly(GameException.class, () -> new OffHeapRouteSolver().calculateRoute(grid));
+
+    grid.setElementAt(grid.getIndex(5, 1), Element.VOID);
+    assertThrowsExactly(MapException.class, () -> new OffHeapRouteSolver().calculateRoute(grid));
+  }
+
+}
@@ -0,0 +1,120 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.ParallelBreadthFirstStrategy;
+import app.labyrinth.model.SolverStatistics;
+import app.labyrinth.model.exceptions.GameException;
+
+/**
+ * Tests for the ParallelBreadthFirstStrategy class
+ */
+class ParallelBreadthFirstTests {
+
+  /**
+   * Pool with several threads, so the levels are expanded in parallel even with one core
+   */
+  private static ForkJoinPool pool;
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+
+  /**
+   * Creates the pool of the tests
+   */
+  @BeforeAll
+  static void createPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  /**
+   * Stops the threads of the pool
+   */
+  @AfterAll
+  static void shutdownPool() {
+    pool.shutdown();
+  }
+
+  /**
+   * Checks the route has the same length as the sequential breadth first route, splitting every
+   * level in tiny tasks
+   * @param type Type of maze
+   * @throws IOException In case an error occurs writing the map
+   */
+  @ParameterizedTest
+  @EnumSource(MazeType.class)
+  void sameLengthAsSequentialTest(MazeType type) throws IOException {
+    for (int seed = 0; seed < 5; seed++) {
+      Path mapPath = folder.resolve("maze.txt");
+      new MazeGenerator(type, seed).writeMaze(mapPath, 61, 41);
+      LabyrinthMap map = new LabyrinthMap(mapPath);
+
+      SolverStatistics statistics = new SolverStatistics();
+      List<Coordinate> route = new ParallelBreadthFirstStrategy(pool, 4).calculateRoute(map,
+          statistics);
+      TimeOptimalRouteSolverTests.assertValidRoute(map, route);
+      assertEquals(new BreadthFirstStrategy().calculateRoute(map).size(), route.size());
+      assertTrue(statistics.getNodesExpanded() > 0);
+      assertTrue(statistics.getNeighbourChecks() >= statistics.getNodesExpanded());
+    }
+  }
+
+  /**
+   * Checks the default strategy finds the nearest of several ends, and no route if there is no
+   * way to an end
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void nearestEndAndNoRouteTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of("+---------+", "|F   P  F |", "|    |    |", "+---------+"));
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    List<Coordinate> route = new ParallelBreadthFirstStrategy().calculateRoute(map);
+    assertEquals(4, route.size());
+    assertEquals(new Coordinate(8, 1), route.get(3));
+
+    Element[][] mapArray = map.getMapArray();
+    mapArray[1][3] = Element.OBSTACLE;
+    mapArray[2][3] = Element.OBSTACLE;
+    mapArray[1][7] = Element.OBSTACLE;
+    mapArray[2][7] = Element.OBSTACLE;
+    map.setMapArray(mapArray);
+    assertThrowsExactly(GameException.class,
+        () -> new ParallelBreadthFirstStrategy(pool, 1).calculateRoute(map));
+  }
+
+  /**
+   * Checks the strategy is not created without pool or with tasks of less than one cell
+   */
+  @Test
+  void invalidArgumentsTest() {
+    assertThrowsExactly(IllegalArgumentException.class,
+        () -> new ParallelBreadthFirstStrategy(pool, 0));
+    assertThrowsExactly(IllegalArgumentException.class,
+        () -> new ParallelBreadthFirstStrategy(null, 1));
+  }
+
+}
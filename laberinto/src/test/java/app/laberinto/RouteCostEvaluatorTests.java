@@ -0,0 +1,109 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.MovementDirection;
+import app.labyrinth.model.RouteCostEvaluator;
+import app.labyrinth.model.utils.MathUtils;
+
+/**
+ * Tests for the RouteCostEvaluator class
+ */
+class RouteCostEvaluatorTests {
+
+  /**
+   * Width of the map used to convert the coordinates to cells
+   */
+  private static final int WIDTH = 1000;
+  
+  /**
+   * Checks the time of a route calculated beforehand
+   */
+  @Test
+  void knownRouteTest() {
+    List<Coordinate> route = List.of(new Coordinate(1, 1), new Coordinate(1, 2), 
+        new Coordinate(1, 3), new Coordinate(1, 4), new Coordinate(1, 5), new Coordinate(1, 6),
+        new Coordinate(1, 7), new Coordinate(1, 8), new Coordinate(2, 8), new Coordinate(3, 8),
+        new Coordinate(4, 8), new Coordinate(5, 8), new Coordinate(6, 8), new Coordinate(6, 9),
+        new Coordinate(7, 9), new Coordinate(7, 10));
+    
+    assertEquals(136, RouteCostEvaluator.getTotalTenths(route));
+  }
+  
+  /**
+   * Checks the streaming and the batch modes give the same time as the rounded decimal 
+   * calculation of the game in random routes
+   */
+  @Test
+  void randomRoutesTest() {
+    Random random = new Random(42);
+    MovementDirection[] directions = MovementDirection.values();
+    
+    for (int i = 0; i < 500; i++) {
+      // Random walk which tends to keep the direction to get long straight lines
+      List<Coordinate> route = new ArrayList<>();
+      int[] cells = new int[random.nextInt(60) + 1];
+      int x = 500;
+      int y = 500;
+      MovementDirection direction = directions[0];
+      
+      RouteCostEvaluator evaluator = new RouteCostEvaluator();
+      for (int j = 0; j < cells.length; j++) {
+        route.add(new Coordinate(x, y));
+        cells[j] = y * WIDTH + x;
+        evaluator.append(x, y);
+        
+        if (random.nextInt(4) == 0) {
+          direction = directions[random.nextInt(directions.length)];
+        }
+        x += direction.getXMovement();
+        y += direction.getYMovement();
+      }
+      
+      int expected = (int) Math.round(getRoundedTime(route) * 10);
+      assertEquals(expected, evaluator.getTotalTenths());
+      assertEquals(expected, RouteCostEvaluator.getTotalTenths(cells, cells.length, WIDTH));
+      assertEquals(expected, RouteCostEvaluator.getTotalTenths(route));
+    }
+  }
+  
+  /**
+   * Calculates the time of a route with decimal numbers rounded in every step, as the game did
+   * before using tenths
+   * @param route Route to calculate
+   * @return The time spent in the route
+   */
+  private static double getRoundedTime(List<Coordinate> route) {
+    double timeSpentPerSquare = 1.0;
+    double timeSpent = 2.0;
+    int movementsAfterATurn = 2;
+    
+    for (int i = 2; i < route.size(); i++) {
+      movementsAfterATurn++;
+      Coordinate first = route.get(i - 2);
+      Coordinate previous = route.get(i - 1);
+      Coordinate current = route.get(i);
+      
+      if ((first.x() == previous.x() && previous.x() == current.x()) 
+          || (first.y() == previous.y() && previous.y() == current.y())) {
+        if (movementsAfterATurn > 2) {
+          timeSpentPerSquare -= (timeSpentPerSquare > 0.6) ? 0.1 : 0;
+        }
+      } else {
+        timeSpentPerSquare = 1.0;
+        movementsAfterATurn = 1;
+      }
+      timeSpentPerSquare = MathUtils.roundDoubleToOneDecimalDigit(timeSpentPerSquare);
+      timeSpent = MathUtils.roundDoubleToOneDecimalDigit(timeSpent + timeSpentPerSquare);
+    }
+    return timeSpent;
+  }
+
+}
@@ -0,0 +1,76 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.RoutePath;
+
+/**
+ * Tests for the RoutePath class
+ */
+class RoutePathTests {
+
+  /**
+   * Map used to convert the cells of the routes
+   */
+  private static final LabyrinthMap MAP = new LabyrinthMap(Path
+      .of("./src/test/resources/mapsfolder/testing-map.txt"));
+  
+  /**
+   * Checks the route goes back to the last intersection and forgets the intersections removed
+   */
+  @Test
+  void truncateToIntersectionTest() {
+    RoutePath route = new RoutePath(MAP);
+    for (int x = 1; x <= 9; x++) {
+      route.add(MAP.getIndex(x, 1));
+      if (x == 3 || x == 6) {
+        route.markLastAsIntersection();
+      }
+    }
+    
+    assertEquals(5, route.getLastIntersectionBefore(route.size() - 1));
+    assertEquals(2, route.getLastIntersectionBefore(5));
+    
+    // Going back to the intersection in position 2 removes the one in position 5
+    route.truncate(3);
+    assertEquals(3, route.size());
+    assertEquals(MAP.getIndex(3, 1), route.getLast());
+    assertTrue(route.isIntersection(2));
+    assertEquals(-1, route.getLastIntersectionBefore(2));
+    
+    // The positions reused are not intersections anymore
+    route.add(MAP.getIndex(4, 1));
+    route.add(MAP.getIndex(5, 1));
+    route.add(MAP.getIndex(6, 1));
+    assertFalse(route.isIntersection(5));
+  }
+  
+  /**
+   * Checks the list view has the coordinates of the route
+   */
+  @Test
+  void coordinateListViewTest() {
+    RoutePath route = new RoutePath(MAP);
+    route.add(MAP.getIndex(4, 1));
+    route.add(MAP.getIndex(5, 1));
+    
+    List<Coordinate> coordinates = route.asCoordinateList();
+    assertEquals(List.of(new Coordinate(4, 1), new Coordinate(5, 1)), coordinates);
+    assertTrue(coordinates.contains(new Coordinate(5, 1)));
+    assertFalse(coordinates.contains(new Coordinate(6, 1)));
+    assertFalse(coordinates.contains(new Coordinate(-1, 40)));
+    
+    // The view follows the route
+    route.truncate(1);
+    assertEquals(1, coordinates.size());
+    assertThrows(UnsupportedOperationException.class, () -> coordinates.add(new Coordinate(1, 1)));
+  }
+
+}
@@ -0,0 +1,145 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import app.labyrinth.model.AStarStrategy;
+import app.labyrinth.model.BidirectionalBreadthFirstStrategy;
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Game;
+import app.labyrinth.model.GreedyDepthFirstStrategy;
+import app.labyrinth.model.JumpPointSearchStrategy;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.MazeGenerator;
+import app.labyrinth.model.MazeGenerator.MazeType;
+import app.labyrinth.model.RouteStrategy;
+import app.labyrinth.model.SolverStatistics;
+import app.labyrinth.model.TimeOptimalRouteSolver;
+
+/**
+ * Tests that verify every route strategy calculates a valid route
+ */
+class RouteStrategyTests {
+
+  /**
+   * Path of the labyrinth of the app
+   */
+  private static final Path LABYRINTH_PATH = Path.of("labyrinth.txt");
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+  
+  /**
+   * Gets all the strategies to check
+   * @return A stream with an instance of every strategy
+   */
+  static Stream<RouteStrategy> strategies() {
+    return Stream.of(new GreedyDepthFirstStrategy(), new BreadthFirstStrategy(), 
+        new AStarStrategy(AStarStrategy.Heuristic.OCTILE), 
+        new AStarStrategy(AStarStrategy.Heuristic.MANHATTAN),
+        new BidirectionalBreadthFirstStrategy(), new JumpPointSearchStrategy(),
+        new TimeOptimalRouteSolver());
+  }
+  
+  /**
+   * Checks the strategy calculates a valid route in the labyrinth when used by the game
+   * @param strategy Strategy to check
+   */
+  @ParameterizedTest
+  @MethodSource("strategies")
+  void validRouteTest(RouteStrategy strategy) {
+    Game game = new Game(LABYRINTH_PATH, strategy);
+    game.calculateRoute();
+    
+    TimeOptimalRouteSolverTests.assertValidRoute(game.getMap(), game.getRoute());
+  }
+  
+  /**
+   * Checks the breadth first searches find routes with the least squares, which can't be longer 
+   * than the routes of the other strategies
+   */
+  @Test
+  void shortestRouteTest() {
+    LabyrinthMap map = new LabyrinthMap(LABYRINTH_PATH);
+    
+    int shortest = new BreadthFirstStrategy().calculateRoute(map).size();
+    assertEquals(shortest, new BidirectionalBreadthFirstStrategy().calculateRoute(map).size());
+    
+    strategies().forEach(strategy -> assertTrue(strategy.calculateRoute(map).size() >= shortest));
+  }
+  
+  /**
+   * Checks the jump point search finds routes as short as the A* with the octile heuristic
+   */
+  @Test
+  void jumpPointSearchRouteTest() {
+    LabyrinthMap map = new LabyrinthMap(LABYRINTH_PATH);
+    
+    assertEquals(getOctileLength(new AStarStrategy().calculateRoute(map)), 
+        getOctileLength(new JumpPointSearchStrategy().calculateRoute(map)));
+  }
+  
+  /**
+   * Checks the jump point search expands less nodes than the A* in a map of open rooms, where it
+   * jumps over the squares of every room, and finds a route as short
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void jumpPointSearchExpansionsTest() throws IOException {
+    Path mapPath = folder.resolve("rooms.txt");
+    new MazeGenerator(MazeType.OPEN_ROOMS, 3).writeMaze(mapPath, 101, 101);
+    LabyrinthMap map = new LabyrinthMap(mapPath);
+
+    SolverStatistics aStarStatistics = new SolverStatistics();
+    SolverStatistics jumpStatistics = new SolverStatistics();
+    List<Coordinate> aStarRoute = new AStarStrategy().calculateRoute(map, aStarStatistics);
+    List<Coordinate> jumpRoute = new JumpPointSearchStrategy().calculateRoute(map,
+        jumpStatistics);
+
+    assertEquals(getOctileLength(aStarRoute), getOctileLength(jumpRoute));
+    assertTrue(jumpStatistics.getNodesExpanded() < aStarStatistics.getNodesExpanded());
+  }
+  
+  /**
+   * Checks the greedy depth first strategy keeps the same route than the one calculated 
+   * originally by the game in the testing map
+   */
+  @Test
+  void greedyRouteTest() {
+    Game game = new Game(Path.of("./src/test/resources/mapsfolder/testing-map.txt"));
+    game.calculateRoute();
+    
+    List<Coordinate> route = game.getRoute();
+    assertEquals(List.of(new Coordinate(4, 1), new Coordinate(5, 1), new Coordinate(6, 1), 
+        new Coordinate(7, 1), new Coordinate(8, 1), new Coordinate(9, 1)), route);
+  }
+  
+  /**
+   * Gets the length of a route counting 10 per straight movement and 14 per diagonal movement
+   * @param route Route to measure
+   * @return The octile length of the route
+   */
+  private static int getOctileLength(List<Coordinate> route) {
+    int length = 0;
+    for (int i = 1; i < route.size(); i++) {
+      boolean diagonal = route.get(i).x() != route.get(i - 1).x() 
+          && route.get(i).y() != route.get(i - 1).y();
+      length += diagonal ? 14 : 10;
+    }
+    return length;
+  }
+  
+}
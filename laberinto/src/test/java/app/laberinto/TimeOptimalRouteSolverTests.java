@@ -0,0 +1,124 @@
+package app.laberinto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import app.labyrinth.model.BreadthFirstStrategy;
+import app.labyrinth.model.Coordinate;
+import app.labyrinth.model.Element;
+import app.labyrinth.model.Game;
+import app.labyrinth.model.LabyrinthMap;
+import app.labyrinth.model.TimeOptimalRouteSolver;
+
+/**
+ * Tests for the TimeOptimalRouteSolver class
+ */
+class TimeOptimalRouteSolverTests {
+
+  /**
+   * Path of the testing map
+   */
+  private static final Path TESTING_MAP_PATH = Path
+      .of("./src/test/resources/mapsfolder/testing-map.txt");
+  
+  /**
+   * Path of the labyrinth of the app
+   */
+  private static final Path LABYRINTH_PATH = Path.of("labyrinth.txt");
+
+  /**
+   * Folder where the maps written by the tests are kept
+   */
+  @TempDir
+  Path folder;
+  
+  /**
+   * Checks the solver goes straight to the end in the testing map
+   */
+  @Test
+  void straightRouteTest() {
+    Game game = new Game(TESTING_MAP_PATH);
+    game.setRoute(new TimeOptimalRouteSolver().calculateRoute(game.getMap()));
+    
+    // 6 squares in a row: 1.0 + 1.0 + 0.9 + 0.8 + 0.7 + 0.6
+    assertEquals(6, game.getRoute().size());
+    assertEquals(5.0, game.getTotalTimeSpent());
+  }
+  
+  /**
+   * Checks the solver takes a longer route through a straight corridor instead of the route with
+   * the least squares, which zigzags between the obstacles and turns in every square
+   * @throws IOException In case an error occurs writing the map
+   */
+  @Test
+  void fewerTurnsThanShortestRouteTest() throws IOException {
+    Path mapPath = folder.resolve("map.txt");
+    Files.write(mapPath, List.of(
+        "+-----------------+",
+        "|                 |",
+        "| --------------- |",
+        "|P- - - - - - - -F|",
+        "|- - - - - - - - -|",
+        "+-----------------+"));
+    Game game = new Game(mapPath);
+
+    // The shortest route has 17 squares, all of them at the initial velocity: 17 * 1.0
+    game.setRoute(new BreadthFirstStrategy().calculateRoute(game.getMap()));
+    assertEquals(17, game.getRoute().size());
+    double shortestTime = game.getTotalTimeSpent();
+    assertEquals(17.0, shortestTime, 1e-9);
+
+    // Up to the corridor (1.0 + 1.0 + 1.0 + 1.0), along it from (4, 1) to (16, 1)
+    // (1.0 + 0.9 + 0.8 + 0.7 + 9 * 0.6) and down to the end (1.0 + 1.0)
+    List<Coordinate> route = new TimeOptimalRouteSolver().calculateRoute(game.getMap());
+    assertValidRoute(game.getMap(), route);
+    game.setRoute(route);
+    assertEquals(19, route.size());
+    assertEquals(new Coordinate(9, 1), route.get(9));
+    assertEquals(14.8, game.getTotalTimeSpent(), 1e-9);
+    assertTrue(game.getTotalTimeSpent() < shortestTime);
+  }
+
+  /**
+   * Checks the route is valid and it's not slower than the one calculated by the game
+   */
+  @Test
+  void fasterThanGameRouteTest() {
+    Game game = new Game(LABYRINTH_PATH);
+    game.calculateRoute();
+    double gameTime = game.getTotalTimeSpent();
+    
+    List<Coordinate> route = new TimeOptimalRouteSolver().calculateRoute(game.getMap());
+    game.setRoute(route);
+    
+    assertTrue(game.getTotalTimeSpent() <= gameTime);
+    assertValidRoute(game.getMap(), route);
+  }
+  
+  /**
+   * Checks a route starts in the player, ends in an end and moves between adjacent squares 
+   * without obstacles
+   * @param map Map of the labyrinth
+   * @param route Route to check
+   */
+  static void assertValidRoute(LabyrinthMap map, List<Coordinate> route) {
+    assertEquals(map.getCoordinateOfElement(Element.PLAYER), route.get(0));
+    assertEquals(Element.END, map.getElementAtCoordinate(route.get(route.size() - 1)));
+    
+    for (int i = 1; i < route.size(); i++) {
+      Coordinate previous = route.get(i - 1);
+      Coordinate current = route.get(i);
+      assertEquals(1, Math.max(Math.abs(previous.x() - current.x()), 
+          Math.abs(previous.y() - current.y())));
+      assertNotEquals(Element.OBSTACLE, map.getElementAtCoordinate(current));
+    }
+  }
+
+}